@@ -0,0 +1,48 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.benchmark;
+
+import java.util.ListResourceBundle;
+
+/**
+ * Generated english bundle, also used as root bundle.
+ *
+ * @author Grégory Van den Borre
+ */
+public class BenchmarkMessages extends ListResourceBundle {
+
+    /**
+     * Number of keys in each bundle, power of two to iterate with a mask.
+     */
+    public static final int SIZE = 512;
+
+    @Override
+    protected Object[][] getContents() {
+        return generate("value ");
+    }
+
+    static Object[][] generate(String prefix) {
+        var contents = new Object[SIZE][];
+        for (var i = 0; i < SIZE; i++) {
+            contents[i] = new Object[]{key(i), prefix + i};
+        }
+        return contents;
+    }
+
+    public static String key(int index) {
+        return "benchmark.key." + index;
+    }
+}
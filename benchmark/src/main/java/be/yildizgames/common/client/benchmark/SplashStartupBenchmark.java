@@ -0,0 +1,66 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.benchmark;
+
+import be.yildizgames.common.client.splash.CanvasSplashScreen;
+import be.yildizgames.common.client.splash.SwingSplashScreen;
+import be.yildizgames.common.configuration.BaseConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.*;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start time of the splash screens: one creation and display per forked JVM, class loading included.
+ * A display is required, this benchmark cannot run headless.
+ *
+ * @author Grégory Van den Borre
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(10)
+public class SplashStartupBenchmark {
+
+    /**
+     * 1x1 png.
+     */
+    private static final String LOGO = "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAQAAAC1HAwCAAAAC0lEQVR42mNkYAAAAAYAAjCB0C8AAAAASUVORK5CYII=";
+
+    @Benchmark
+    public void swing() throws Exception {
+        var splash = SwingSplashScreen.create(new BaseConfiguration(new Properties()), LOGO, "");
+        splash.display();
+        EventQueue.invokeAndWait(() -> {});
+        splash.close();
+    }
+
+    @Benchmark
+    public void canvas() throws Exception {
+        var splash = CanvasSplashScreen.create("Benchmark");
+        splash.display();
+        EventQueue.invokeAndWait(() -> {});
+        splash.close();
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.benchmark;
+
+import be.yildizgames.common.client.splash.LoadingProgress;
+import be.yildizgames.common.client.splash.SplashUpdates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.JLabel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a splash screen update for the loading code, in headless mode.
+ * The splash windows cannot be created headless, so the components are updated directly,
+ * as done by the splash screen for every update before the coalescing, and compared with the splash screen updates
+ * done through the same SplashUpdates as the splash screen, and with the progress model updates.
+ * A task progress only increases, so each thread registers a new task once its task is completed,
+ * one registration every 100 updates is included in the task update cost.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Djava.awt.headless=true", "-Xms512m", "-Xmx512m"})
+public class SplashUpdateBenchmark {
+
+    private static final String[] NAMES = {"textures", "sounds", "maps", "translations"};
+
+    /**
+     * Progress shared by all threads, as the splash screen one.
+     */
+    private final LoadingProgress progress = new LoadingProgress();
+
+    /**
+     * Progress bar and label update, the cost paid on each update without coalescing.
+     */
+    @Benchmark
+    public JProgressBar components(Loader loader) {
+        var percent = loader.nextPercent();
+        loader.progressBar.setValue(percent);
+        loader.progressBar.setString(percent + "%");
+        loader.loading.setText(NAMES[percent & 3]);
+        return loader.progressBar;
+    }
+
+    /**
+     * Update from a loading thread, as SwingSplashScreen.setProgress and setCurrentLoading,
+     * the values are applied later by a coalesced flush on the event dispatch thread.
+     */
+    @Benchmark
+    public SplashUpdates splashUpdates(Screen screen, Loader loader) {
+        var percent = loader.nextPercent();
+        screen.updates.setProgress(percent);
+        screen.updates.setCurrentLoading(NAMES[percent & 3]);
+        return screen.updates;
+    }
+
+    /**
+     * Updates from several loading threads at once.
+     */
+    @Benchmark
+    @Threads(4)
+    public SplashUpdates splashUpdatesContended(Screen screen, Loader loader) {
+        return this.splashUpdates(screen, loader);
+    }
+
+    /**
+     * Updates from the event dispatch thread, each one flushed directly to the components,
+     * the cost of a flush applying a progress and a loading name.
+     */
+    @Benchmark
+    @OperationsPerInvocation(Screen.BATCH)
+    public SplashUpdates splashFlush(Screen screen) throws InterruptedException, InvocationTargetException {
+        SwingUtilities.invokeAndWait(screen.batch);
+        return screen.updates;
+    }
+
+    @Benchmark
+    public LoadingProgress progressModel(Loader loader) {
+        var percent = loader.nextPercent();
+        this.progress.setPercent(percent);
+        this.progress.setCurrent(NAMES[percent & 3]);
+        return this.progress;
+    }
+
+    @Benchmark
+    public LoadingProgress.Task taskUpdate(Loader loader) {
+        return loader.updateTask(this.progress);
+    }
+
+    /**
+     * Task updates from several loading threads at once, each with its own task.
+     */
+    @Benchmark
+    @Threads(4)
+    public LoadingProgress.Task taskUpdateContended(Loader loader) {
+        return loader.updateTask(this.progress);
+    }
+
+    /**
+     * Read done by the splash screen timer on each frame.
+     */
+    @Benchmark
+    public int progressRead() {
+        return this.progress.getPercent();
+    }
+
+    /**
+     * Splash screen components and their updates, shared by all threads.
+     */
+    @State(Scope.Benchmark)
+    public static class Screen {
+
+        /**
+         * Updates applied on the event dispatch thread for each flush benchmark invocation.
+         */
+        static final int BATCH = 100;
+
+        private JProgressBar progressBar;
+
+        private JLabel loading;
+
+        private SplashUpdates updates;
+
+        private Runnable batch;
+
+        @Setup
+        public void setup() {
+            this.progressBar = new JProgressBar();
+            this.progressBar.setMaximum(100);
+            this.loading = new JLabel();
+            this.updates = new SplashUpdates(this::applyProgress, this.loading::setText, n -> {});
+            this.batch = () -> {
+                for (var i = 0; i < BATCH; i++) {
+                    this.updates.setProgress(i);
+                    this.updates.setCurrentLoading(NAMES[i & 3]);
+                }
+            };
+        }
+
+        @TearDown
+        public void tearDown() {
+            this.updates.close();
+        }
+
+        private void applyProgress(int percent) {
+            this.progressBar.setValue(percent);
+            this.progressBar.setString(percent + "%");
+        }
+    }
+
+    /**
+     * State of a loading thread.
+     */
+    @State(Scope.Thread)
+    public static class Loader {
+
+        private JProgressBar progressBar;
+
+        private JLabel loading;
+
+        private LoadingProgress.Task task;
+
+        private int step;
+
+        /**
+         * Updates of the current task.
+         */
+        private int taskStep;
+
+        @Setup
+        public void setup() {
+            this.progressBar = new JProgressBar();
+            this.progressBar.setMaximum(100);
+            this.loading = new JLabel();
+        }
+
+        private LoadingProgress.Task updateTask(LoadingProgress progress) {
+            if (this.taskStep == 0) {
+                this.task = progress.register(NAMES[0], 1);
+            }
+            this.taskStep = this.taskStep == 99 ? 0 : this.taskStep + 1;
+            this.task.update(this.taskStep == 0 ? 1 : this.taskStep / 100.0);
+            return this.task;
+        }
+
+        private int nextPercent() {
+            this.step = this.step == 100 ? 0 : this.step + 1;
+            return this.step;
+        }
+    }
+}
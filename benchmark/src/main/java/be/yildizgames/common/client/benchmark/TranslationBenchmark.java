@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.benchmark;
+
+import be.yildizgames.common.client.translation.TranslationKey;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Random;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare the translation lookups with the previous per call resource bundle lookup.
+ * The hit ratio gives the share of existing keys, the others are missing in every locale.
+ * Run with -prof gc to get the allocation per call.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+public class TranslationBenchmark {
+
+    private static final int MASK = BenchmarkMessages.SIZE - 1;
+
+    @Param({"en", "fr"})
+    private String language;
+
+    @Param({"100", "90", "50"})
+    private int hitPercent;
+
+    private final Map<Locale, ResourceBundle> bundles = new HashMap<>();
+
+    private BenchmarkLanguageConfiguration configuration;
+
+    private BenchmarkTranslation translation;
+
+    private String[] names;
+
+    private TranslationKey[] keys;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        this.configuration = new BenchmarkLanguageConfiguration(Locale.forLanguageTag(this.language));
+        for (var l : this.configuration.getSupportedLocale()) {
+            this.bundles.put(l, ResourceBundle.getBundle(BenchmarkMessages.class.getName(), l));
+        }
+        this.translation = new BenchmarkTranslation(this.configuration);
+        this.names = new String[BenchmarkMessages.SIZE];
+        this.keys = new TranslationKey[BenchmarkMessages.SIZE];
+        // Fixed seed, so every run misses the same keys.
+        var random = new Random(42);
+        for (var i = 0; i < BenchmarkMessages.SIZE; i++) {
+            this.names[i] = random.nextInt(100) < this.hitPercent ? BenchmarkMessages.key(i) : "benchmark.missing." + i;
+            this.keys[i] = this.translation.key(this.names[i]);
+        }
+    }
+
+    /**
+     * Lookup as done before the translation tables: map lookup, then bundle lookup, a missing key returns the key.
+     */
+    @Benchmark
+    public String resourceBundle() {
+        var name = this.nextName();
+        try {
+            return this.bundles.get(this.configuration.getLocale()).getString(name);
+        } catch (MissingResourceException e) {
+            return name;
+        }
+    }
+
+    @Benchmark
+    public String translationByName() {
+        return this.translation.get(this.nextName());
+    }
+
+    @Benchmark
+    public String translationByKey() {
+        this.index = (this.index + 1) & MASK;
+        return this.translation.get(this.keys[this.index]);
+    }
+
+    private String nextName() {
+        this.index = (this.index + 1) & MASK;
+        return this.names[this.index];
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import be.yildizgames.common.application.helper.splashscreen.SplashScreen;
+
+import java.awt.*;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lightweight splash screen, drawing its content directly with AWT, without loading Swing nor a look and feel.
+ * When the JVM displays a splash image (-splash option or SplashScreen-Image manifest entry), the progress is drawn over it,
+ * otherwise a small undecorated frame is used.
+ * Updates are accepted from any thread, the rendering is coalesced by the AWT event queue.
+ *
+ * @author Grégory Van den Borre
+ */
+public class CanvasSplashScreen implements SplashScreen {
+
+    private static final int WIDTH = 480;
+
+    private static final int HEIGHT = 160;
+
+    private static final int BAR_HEIGHT = 12;
+
+    private static final int MARGIN = 20;
+
+    private static final Font TITLE_FONT = new Font(Font.DIALOG, Font.BOLD, 24);
+
+    private static final Font TEXT_FONT = new Font(Font.DIALOG, Font.PLAIN, 12);
+
+    private final AtomicInteger progress = new AtomicInteger();
+
+    private final AtomicReference<String> loading = new AtomicReference<>("");
+
+    private final AtomicReference<String> name;
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * JVM splash screen, null if not displayed.
+     */
+    private final java.awt.SplashScreen overlay;
+
+    /**
+     * Frame used when no JVM splash screen is displayed, null otherwise.
+     */
+    private final Frame frame;
+
+    private volatile boolean closed;
+
+    private CanvasSplashScreen(String name) {
+        super();
+        this.name = new AtomicReference<>(Objects.requireNonNull(name));
+        this.overlay = jvmSplashScreen();
+        if (this.overlay == null) {
+            this.frame = new Frame() {
+                @Override
+                public void update(Graphics g) {
+                    this.paint(g);
+                }
+
+                @Override
+                public void paint(Graphics g) {
+                    CanvasSplashScreen.this.render((Graphics2D) g, this.getWidth(), this.getHeight(), true);
+                }
+            };
+            this.frame.setUndecorated(true);
+            this.frame.setSize(WIDTH, HEIGHT);
+            this.frame.setLocationRelativeTo(null);
+        } else {
+            this.frame = null;
+        }
+    }
+
+    /**
+     * Create a lightweight splash screen, the window is not shown until display is called.
+     * @param name Title to display.
+     * @return The created splash screen.
+     */
+    public static CanvasSplashScreen create(String name) {
+        return new CanvasSplashScreen(name);
+    }
+
+    @Override
+    public final void display() {
+        if (this.frame != null) {
+            this.frame.setVisible(true);
+        } else {
+            this.requestRender();
+        }
+    }
+
+    @Override
+    public final void close() {
+        this.closed = true;
+        if (this.frame != null) {
+            this.frame.dispose();
+        } else {
+            try {
+                this.overlay.close();
+            } catch (IllegalStateException e) {
+                // Already closed by the JVM when the first window was shown.
+            }
+        }
+    }
+
+    @Override
+    public final void setProgress(int percent) {
+        this.progress.set(Math.max(0, Math.min(100, percent)));
+        this.requestRender();
+    }
+
+    @Override
+    public final void setCurrentLoading(String name) {
+        this.loading.set(name == null ? "" : name);
+        this.requestRender();
+    }
+
+    @Override
+    public final void setName(String name) {
+        this.name.set(name == null ? "" : name);
+        this.requestRender();
+    }
+
+    private void requestRender() {
+        if (this.closed) {
+            return;
+        }
+        if (this.frame != null) {
+            this.frame.repaint();
+        } else if (this.scheduled.compareAndSet(false, true)) {
+            EventQueue.invokeLater(this::renderOverlay);
+        }
+    }
+
+    /**
+     * Draw the progress over the JVM splash screen, which closes itself when the first window is shown, at any time.
+     */
+    private void renderOverlay() {
+        this.scheduled.set(false);
+        if (this.closed) {
+            return;
+        }
+        try {
+            var size = this.overlay.getSize();
+            var graphics = this.overlay.createGraphics();
+            try {
+                this.render(graphics, size.width, size.height, false);
+            } finally {
+                graphics.dispose();
+            }
+            this.overlay.update();
+        } catch (IllegalStateException e) {
+            this.closed = true;
+        }
+    }
+
+    /**
+     * Draw the splash screen content.
+     * @param background True to draw the background and title, false to only draw the progress over an existing image.
+     */
+    private void render(Graphics2D g, int width, int height, boolean background) {
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        var barY = height - MARGIN - BAR_HEIGHT;
+        var textY = barY - 8;
+        if (background) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, width, height);
+            g.setColor(Color.WHITE);
+            g.setFont(TITLE_FONT);
+            g.drawString(this.name.get(), MARGIN, MARGIN + 24);
+        } else {
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, textY - 14, width, height - textY + 14);
+            g.setPaintMode();
+        }
+        g.setColor(Color.WHITE);
+        g.setFont(TEXT_FONT);
+        g.drawString(this.loading.get(), MARGIN, textY);
+        var barWidth = width - 2 * MARGIN;
+        g.setColor(Color.DARK_GRAY);
+        g.fillRect(MARGIN, barY, barWidth, BAR_HEIGHT);
+        g.setColor(Color.WHITE);
+        g.fillRect(MARGIN, barY, barWidth * this.progress.get() / 100, BAR_HEIGHT);
+    }
+
+    private static java.awt.SplashScreen jvmSplashScreen() {
+        try {
+            return java.awt.SplashScreen.getSplashScreen();
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+    }
+}
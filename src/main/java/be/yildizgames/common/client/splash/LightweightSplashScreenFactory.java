@@ -0,0 +1,52 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import be.yildizgames.common.application.helper.splashscreen.EmptySplashScreen;
+import be.yildizgames.common.application.helper.splashscreen.SplashScreen;
+
+import java.awt.*;
+import java.util.Objects;
+
+/**
+ * Create a CanvasSplashScreen, or a splash screen doing nothing when no display is available.
+ *
+ * @author Grégory Van den Borre
+ */
+public class LightweightSplashScreenFactory implements SplashScreenFactory {
+
+    private final String name;
+
+    /**
+     * @param name Title to display.
+     */
+    public LightweightSplashScreenFactory(String name) {
+        super();
+        this.name = Objects.requireNonNull(name);
+    }
+
+    @Override
+    public final SplashScreen create() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return new EmptySplashScreen();
+        }
+        try {
+            return CanvasSplashScreen.create(this.name);
+        } catch (HeadlessException e) {
+            return new EmptySplashScreen();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated progress of the loading tasks, to be displayed in a splash screen.
+ * Tasks register their weight, then report their completion from any thread, without locking.
+ * The splash screen reads the aggregated values when it refreshes.
+ * Tasks should be registered before starting, registering a task later lowers the percentage.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LoadingProgress {
+
+    /**
+     * Units per weight, so partial completion can be summed as integers.
+     */
+    private static final long SCALE = 10_000;
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final AtomicReference<String> current = new AtomicReference<>("");
+
+    private final AtomicInteger percent = new AtomicInteger();
+
+    /**
+     * Register a task.
+     * @param name Name of the task, displayed when it reports progress.
+     * @param weight Weight of the task in the total progress.
+     * @return The task, to report its progress.
+     */
+    public Task register(String name, long weight) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be positive.");
+        }
+        var task = new Task(Objects.requireNonNull(name), weight * SCALE);
+        this.total.add(task.units);
+        return task;
+    }
+
+    /**
+     * Set the progress directly, only used as long as no task is registered.
+     * @param percent Progress percentage.
+     */
+    public void setPercent(int percent) {
+        this.percent.set(percent);
+    }
+
+    /**
+     * Set the name of the element being loaded.
+     * @param name Name to display.
+     */
+    public void setCurrent(String name) {
+        this.current.set(Objects.requireNonNull(name));
+    }
+
+    /**
+     * @return The aggregated progress, from 0 to 100.
+     */
+    public int getPercent() {
+        var t = this.total.sum();
+        if (t == 0) {
+            return this.percent.get();
+        }
+        return (int) Math.min(100, this.completed.sum() * 100 / t);
+    }
+
+    /**
+     * @return The name of the element being loaded, the last task that reported progress.
+     */
+    public String getCurrent() {
+        return this.current.get();
+    }
+
+    /**
+     * Loading task registered in the progress.
+     */
+    public final class Task {
+
+        private final String name;
+
+        private final long units;
+
+        private final AtomicLong done = new AtomicLong();
+
+        private Task(String name, long units) {
+            super();
+            this.name = name;
+            this.units = units;
+        }
+
+        /**
+         * Report the task progress, the completion can only increase.
+         * @param fraction Completed part of the task, from 0 to 1.
+         */
+        public void update(double fraction) {
+            var value = Math.round(Math.max(0, Math.min(1, fraction)) * this.units);
+            var previous = this.done.getAndAccumulate(value, Math::max);
+            if (value > previous) {
+                LoadingProgress.this.completed.add(value - previous);
+                LoadingProgress.this.current.set(this.name);
+            }
+        }
+
+        /**
+         * Report the task as completed.
+         */
+        public void complete() {
+            this.update(1);
+        }
+
+        public String getName() {
+            return this.name;
+        }
+    }
+}
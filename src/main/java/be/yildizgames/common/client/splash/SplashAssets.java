@@ -0,0 +1,145 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import be.yildizgames.common.client.storage.AtomicFile;
+import be.yildizgames.common.client.storage.LocalStorage;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decode the splash screen assets in background.
+ * The scaled logo is cached on disk as raw pixels, keyed by the source hash and the target size,
+ * so the next launches neither decode nor scale it.
+ *
+ * @author Grégory Van den Borre
+ */
+final class SplashAssets {
+
+    private SplashAssets() {
+        super();
+    }
+
+    /**
+     * Provide the logo scaled to a square, from the cache if present.
+     * The cache is skipped if unavailable, like on an unsupported system.
+     * @param base64Logo Logo image, base64 encoded.
+     * @param size Target size, in pixels.
+     * @return A future completed with the scaled logo.
+     */
+    static CompletableFuture<BufferedImage> logo(String base64Logo, int size) {
+        return CompletableFuture.supplyAsync(() -> {
+            var cached = cacheFile(base64Logo, size);
+            if (cached == null) {
+                return scale(base64Logo, size);
+            }
+            if (Files.isRegularFile(cached)) {
+                try {
+                    return readPixels(cached, size);
+                } catch (IOException e) {
+                    System.getLogger(SplashAssets.class.getName()).log(System.Logger.Level.WARNING, "Invalid cached logo " + cached, e);
+                }
+            }
+            var image = scale(base64Logo, size);
+            try {
+                writePixels(cached, image);
+            } catch (IOException e) {
+                System.getLogger(SplashAssets.class.getName()).log(System.Logger.Level.WARNING, "Cannot cache logo " + cached, e);
+            }
+            return image;
+        });
+    }
+
+    /**
+     * Decode the title font.
+     * @param base64Font True type font, base64 encoded.
+     * @return A future completed with the font.
+     */
+    static CompletableFuture<Font> font(String base64Font) {
+        return CompletableFuture.supplyAsync(() -> {
+            try (var is = new ByteArrayInputStream(Base64.getDecoder().decode(base64Font))) {
+                return Font.createFont(Font.TRUETYPE_FONT, is);
+            } catch (FontFormatException | IOException e) {
+                throw new IllegalArgumentException(e);
+            }
+        });
+    }
+
+    private static BufferedImage scale(String base64Logo, int size) {
+        try {
+            var source = ImageIO.read(new ByteArrayInputStream(Base64.getDecoder().decode(base64Logo)));
+            if (source == null) {
+                throw new IllegalArgumentException("Unsupported logo image format.");
+            }
+            var resizedImage = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+            var graphics2D = resizedImage.createGraphics();
+            graphics2D.drawImage(source, 0, 0, size, size, null);
+            graphics2D.dispose();
+            return resizedImage;
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * @return The cache file for the logo at this size, null if the cache directory is not available.
+     */
+    private static Path cacheFile(String source, int size) {
+        try {
+            var hash = MessageDigest.getInstance("SHA-256").digest(source.getBytes(StandardCharsets.US_ASCII));
+            return cacheDirectory().resolve(HexFormat.of().formatHex(hash, 0, 16) + "_" + size + ".pixels");
+        } catch (NoSuchAlgorithmException | RuntimeException e) {
+            System.getLogger(SplashAssets.class.getName()).log(System.Logger.Level.WARNING, "Logo cache not available", e);
+            return null;
+        }
+    }
+
+    private static Path cacheDirectory() {
+        return LocalStorage.getDirectories(LocalStorage.ENGINE).getCache().resolve("splash");
+    }
+
+    private static BufferedImage readPixels(Path file, int size) throws IOException {
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() != (size * size + 2) * Integer.BYTES || buffer.getInt() != size || buffer.getInt() != size) {
+            throw new IOException("Unexpected cached logo size.");
+        }
+        var image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        buffer.asIntBuffer().get(((DataBufferInt) image.getRaster().getDataBuffer()).getData());
+        return image;
+    }
+
+    private static void writePixels(Path file, BufferedImage image) throws IOException {
+        var pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        var buffer = ByteBuffer.allocate((pixels.length + 2) * Integer.BYTES);
+        buffer.putInt(image.getWidth()).putInt(image.getHeight());
+        buffer.asIntBuffer().put(pixels);
+        AtomicFile.write(file, temp -> Files.write(temp, buffer.array()));
+    }
+}
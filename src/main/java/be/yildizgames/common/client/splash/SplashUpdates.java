@@ -0,0 +1,176 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import javax.swing.*;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+/**
+ * Splash screen values set from any thread and applied on the event dispatch thread.
+ * Only the latest value of each field is kept, and they are applied by a single task, at most once per frame.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SplashUpdates {
+
+    /**
+     * Minimum delay between two applications of the values, in milliseconds.
+     */
+    private static final int FRAME = 16;
+
+    private static final int NO_PROGRESS = -1;
+
+    /**
+     * Marker for a text without pending value, null being a valid value clearing the text.
+     */
+    private static final Object NOTHING = new Object();
+
+    private final IntConsumer progress;
+
+    private final Consumer<String> loading;
+
+    private final Consumer<String> name;
+
+    private final AtomicInteger pendingProgress = new AtomicInteger(NO_PROGRESS);
+
+    private final AtomicReference<Object> pendingLoading = new AtomicReference<>(NOTHING);
+
+    private final AtomicReference<Object> pendingName = new AtomicReference<>(NOTHING);
+
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final LongAdder received = new LongAdder();
+
+    private final LongAdder applied = new LongAdder();
+
+    private volatile long lastFlush = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(FRAME);
+
+    private volatile boolean closed;
+
+    /**
+     * Single shot timer delaying the flush to the next frame, restarted for each delayed flush.
+     */
+    private final Timer flushTimer = new Timer(FRAME, e -> this.flush());
+
+    /**
+     * Create the updates for a splash screen.
+     * @param progress Apply the progress percent, called on the event dispatch thread.
+     * @param loading Apply the current loading name, called on the event dispatch thread.
+     * @param name Apply the name, called on the event dispatch thread.
+     */
+    public SplashUpdates(IntConsumer progress, Consumer<String> loading, Consumer<String> name) {
+        super();
+        this.progress = Objects.requireNonNull(progress);
+        this.loading = Objects.requireNonNull(loading);
+        this.name = Objects.requireNonNull(name);
+        this.flushTimer.setRepeats(false);
+    }
+
+    public void setProgress(int percent) {
+        this.pendingProgress.set(Math.max(0, percent));
+        this.update();
+    }
+
+    public void setCurrentLoading(String name) {
+        this.pendingLoading.set(name);
+        this.update();
+    }
+
+    public void setName(String name) {
+        this.pendingName.set(name);
+        this.update();
+    }
+
+    /**
+     * Stop applying the values, the pending ones are discarded.
+     */
+    public void close() {
+        this.closed = true;
+        this.flushTimer.stop();
+    }
+
+    /**
+     * @return The number of updates requested.
+     */
+    public long getReceivedUpdates() {
+        return this.received.sum();
+    }
+
+    /**
+     * @return The number of updates applied, the others were replaced by a newer value before being applied.
+     */
+    public long getAppliedUpdates() {
+        return this.applied.sum();
+    }
+
+    /**
+     * Schedule the flush of the pending values, unless already scheduled.
+     * An update from the event dispatch thread, like the UpdatableSwingSplashScreen timer, is already paced and applied directly.
+     */
+    private void update() {
+        this.received.increment();
+        if (this.closed) {
+            return;
+        }
+        if (SwingUtilities.isEventDispatchThread()) {
+            this.flush();
+            return;
+        }
+        if (!this.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        var wait = Math.min(FRAME, FRAME - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - this.lastFlush));
+        if (wait <= 0) {
+            SwingUtilities.invokeLater(this::flush);
+        } else {
+            this.flushTimer.setInitialDelay((int) wait);
+            this.flushTimer.restart();
+        }
+    }
+
+    /**
+     * Apply the pending values, on the event dispatch thread.
+     */
+    private void flush() {
+        this.scheduled.set(false);
+        this.lastFlush = System.nanoTime();
+        if (this.closed) {
+            return;
+        }
+        var percent = this.pendingProgress.getAndSet(NO_PROGRESS);
+        if (percent != NO_PROGRESS) {
+            this.progress.accept(percent);
+            this.applied.increment();
+        }
+        var loadingName = this.pendingLoading.getAndSet(NOTHING);
+        if (loadingName != NOTHING) {
+            this.loading.accept((String) loadingName);
+            this.applied.increment();
+        }
+        var screenName = this.pendingName.getAndSet(NOTHING);
+        if (screenName != NOTHING) {
+            this.name.accept((String) screenName);
+            this.applied.increment();
+        }
+    }
+}
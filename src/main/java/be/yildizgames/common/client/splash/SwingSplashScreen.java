@@ -19,21 +19,24 @@ import be.yildizgames.common.application.helper.splashscreen.SplashScreen;
 import be.yildizgames.common.configuration.BaseConfiguration;
 import be.yildizgames.common.logging.Logger;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.util.Base64;
 import java.util.Locale;
 
 /**
+ * Full screen Swing splash screen.
+ * Updates are accepted from any thread and applied on the event dispatch thread through SplashUpdates.
+ * The logo and font are decoded in background, the window can be displayed before they are ready.
+ *
  * @author Grégory Van den Borre
  */
 public class SwingSplashScreen implements SplashScreen {
 
     private final Logger logger = Logger.getLogger(this);
 
+    private final SplashUpdates updates;
+
     private final JLabel title;
 
     private final JLabel logo;
@@ -75,7 +78,7 @@ public class SwingSplashScreen implements SplashScreen {
         this.panel.add(subTitle);
         this.progressBar = new JProgressBar();
         this.progressBar.setLayout(null);
-        this.progressBar.setMaximum(50);
+        this.progressBar.setMaximum(100);
         var progressWidth = screenWidth >> 2;
         this.progressBar.setBounds(screenWidth / 2 - progressWidth / 2, screenHeight - 200, progressWidth, 30);
         this.panel.add(this.progressBar);
@@ -87,64 +90,94 @@ public class SwingSplashScreen implements SplashScreen {
         this.logo = new JLabel();
         this.targetLogoSize = screenHeight >> 1;
         this.logo.setBounds(((screenWidth >> 1) - (targetLogoSize >> 1)), targetLogoSize >> 1, targetLogoSize, targetLogoSize);
+        this.panel.add(this.logo);
+        this.title.setFont(new Font("Arial", Font.BOLD, 32));
         this.setLogo(base64Logo);
         this.setFont(base64Font);
-        this.panel.add(this.logo);
+        this.updates = new SplashUpdates(this::applyProgress, this.loadingItemName::setText, this.title::setText);
     }
 
     public static SwingSplashScreen create(BaseConfiguration configuration, String base64Logo, String base64Font) {
         return new SwingSplashScreen(configuration, base64Logo, base64Font);
     }
 
+    /**
+     * Decode the font in background, the default font is used until it is ready.
+     */
     private void setFont(String base64Font) {
-        try (var is = new ByteArrayInputStream(Base64.getDecoder().decode(base64Font))){
-            var font = Font.createFont(Font.TRUETYPE_FONT, is);
-            this.title.setFont(font.deriveFont(32.0f));
-
-        } catch (Exception e) {
-            this.logger.error(e);
-            this.title.setFont(new Font("Arial", Font.BOLD, 32));
-        }
+        SplashAssets.font(base64Font).whenComplete((font, e) -> {
+            if (e != null) {
+                this.logger.error(new IllegalStateException("Cannot load splash screen font.", e));
+            } else {
+                onEdt(() -> this.title.setFont(font.deriveFont(32.0f)));
+            }
+        });
     }
 
+    /**
+     * Decode and scale the logo in background, or read it from the cache, the logo is empty until it is ready.
+     */
     private void setLogo(String base64Logo) {
-        try {
-            var logoBytes = Base64.getDecoder().decode(base64Logo);
-            var resizedImage = new BufferedImage(this.targetLogoSize, this.targetLogoSize, BufferedImage.TYPE_INT_RGB);
-            var graphics2D = resizedImage.createGraphics();
-            graphics2D.drawImage(ImageIO.read(new ByteArrayInputStream(logoBytes)), 0, 0,
-                    this.targetLogoSize, this.targetLogoSize, null);
-            graphics2D.dispose();
-            this.logo.setIcon(new ImageIcon(resizedImage));
-        } catch (Exception e) {
-            this.logger.error(e);
-        }
+        SplashAssets.logo(base64Logo, this.targetLogoSize).whenComplete((image, e) -> {
+            if (e != null) {
+                this.logger.error(new IllegalStateException("Cannot load splash screen logo.", e));
+            } else {
+                onEdt(() -> this.logo.setIcon(new ImageIcon(image)));
+            }
+        });
     }
 
     @Override
     public final void setProgress(int percent) {
-        this.progressBar.setValue(percent);
-        this.progressBar.setString(percent + "%");
+        this.updates.setProgress(percent);
     }
 
     @Override
     public final void display() {
-        this.window.setVisible(true);
+        onEdt(() -> this.window.setVisible(true));
     }
 
     @Override
     public final void close() {
-        this.window.dispose();
+        this.updates.close();
+        onEdt(this.window::dispose);
     }
 
     @Override
     public final void setCurrentLoading(String name) {
-        this.loadingItemName.setText(name);
+        this.updates.setCurrentLoading(name);
     }
 
     @Override
     public final void setName(String name) {
-        this.title.setText(name);
+        this.updates.setName(name);
+    }
+
+    /**
+     * @return The number of updates requested.
+     */
+    public final long getReceivedUpdates() {
+        return this.updates.getReceivedUpdates();
+    }
+
+    /**
+     * @return The number of updates applied to the components, the others were replaced by a newer value before being applied.
+     */
+    public final long getAppliedUpdates() {
+        return this.updates.getAppliedUpdates();
+    }
+
+    private void applyProgress(int percent) {
+        this.progressBar.setValue(percent);
+        this.progressBar.setString(percent + "%");
+    }
+
+    private static void onEdt(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
     }
 
     private void setBackgroundColor(int r, int g, int b) {
@@ -20,25 +20,55 @@ import be.yildizgames.common.application.helper.splashscreen.UpdateSplashScreen;
 import be.yildizgames.common.configuration.BaseConfiguration;
 
 import javax.swing.*;
+import java.util.Objects;
 import java.util.Properties;
 
 /**
+ * Splash screen displaying the progress of the loading tasks.
+ * The progress and loading name are collected in a LoadingProgress, from any thread,
+ * and applied to the screen once per frame while the splash screen is displayed.
+ *
  * @author Grégory Van den Borre
  */
 public class UpdatableSwingSplashScreen extends UpdateSplashScreen {
 
+    /**
+     * Refresh period, in milliseconds.
+     */
+    private static final int FRAME = 16;
+
     private final SwingSplashScreen splashScreen;
 
-    private int count;
+    private final LoadingProgress progress;
+
+    private final Timer timer;
+
+    private int displayedPercent = -1;
+
+    private String displayedName = "";
 
-    private UpdatableSwingSplashScreen(BaseConfiguration configuration, String base64Logo, String base64Font) {
+    private UpdatableSwingSplashScreen(BaseConfiguration configuration, String base64Logo, String base64Font, LoadingProgress progress) {
         super();
         this.splashScreen = SwingSplashScreen.create(configuration, base64Logo, base64Font);
+        this.progress = Objects.requireNonNull(progress);
+        this.timer = new Timer(FRAME, t -> this.refresh());
     }
 
     public static UpdateSplashScreen create(Properties config, String base64Logo, String base64Font) {
+        return create(config, base64Logo, base64Font, new LoadingProgress());
+    }
+
+    /**
+     * Create a splash screen displaying a progress.
+     * @param config Configuration properties.
+     * @param base64Logo Logo image, base64 encoded.
+     * @param base64Font Title font, base64 encoded.
+     * @param progress Progress to display, the loading tasks register in it.
+     * @return The created splash screen, an empty one if it cannot be created.
+     */
+    public static UpdateSplashScreen create(Properties config, String base64Logo, String base64Font, LoadingProgress progress) {
         try {
-            return new UpdatableSwingSplashScreen(new BaseConfiguration(config), base64Logo, base64Font);
+            return new UpdatableSwingSplashScreen(new BaseConfiguration(config), base64Logo, base64Font, progress);
         } catch (Exception e) {
             return new EmptySplashScreen();
         }
@@ -47,15 +77,12 @@ public class UpdatableSwingSplashScreen extends UpdateSplashScreen {
     @Override
     public final void display() {
         this.splashScreen.display();
-        new Timer(50, t -> {
-            count++;
-            int percent = count;
-            this.setProgress(percent);
-        }).start();
+        this.timer.start();
     }
 
     @Override
     public final void close() {
+        this.timer.stop();
         this.splashScreen.close();
     }
 
@@ -66,12 +93,27 @@ public class UpdatableSwingSplashScreen extends UpdateSplashScreen {
 
     @Override
     public final void setProgress(int percent) {
-        this.splashScreen.setProgress(percent);
+        this.progress.setPercent(percent);
     }
 
     @Override
     public final void setCurrentLoading(String name) {
-        this.splashScreen.setCurrentLoading(name);
+        this.progress.setCurrent(name);
     }
 
-}
\ No newline at end of file
+    /**
+     * Apply the progress to the screen if it changed, called on the event dispatch thread.
+     */
+    private void refresh() {
+        var percent = this.progress.getPercent();
+        if (percent != this.displayedPercent) {
+            this.displayedPercent = percent;
+            this.splashScreen.setProgress(percent);
+        }
+        var name = this.progress.getCurrent();
+        if (!name.equals(this.displayedName)) {
+            this.displayedName = name;
+            this.splashScreen.setCurrentLoading(name);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.startup;
+
+import be.yildizgames.common.application.helper.splashscreen.SplashScreen;
+import be.yildizgames.common.client.splash.LoadingProgress;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Run the startup tasks, like the version check, the translation and the asset loading, as soon as their dependencies are completed.
+ * Independent tasks run concurrently, on virtual threads unless another executor is given.
+ * The progress is aggregated from the task weights, and given with the running task name to the splash screen.
+ * When a task fails, the tasks not started yet are cancelled and the bootstrap fails immediately, without waiting for the running ones.
+ *
+ * Usage:
+ * <pre>
+ * Bootstrap.create()
+ *     .withSplash(splash)
+ *     .add("version", 1, p -> VersionFile.createVersionFile("version"))
+ *     .add("translations", 2, p -> translation.refreshLocale())
+ *     .add("assets", 10, p -> loadAssets(p), "translations")
+ *     .start()
+ *     .join();
+ * </pre>
+ *
+ * @author Grégory Van den Borre
+ */
+public final class Bootstrap {
+
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+
+    private LoadingProgress progress = new LoadingProgress();
+
+    private StartupTimeline timeline = StartupTimeline.create();
+
+    private SplashScreen splash;
+
+    private ExecutorService executor;
+
+    private boolean started;
+
+    private Bootstrap() {
+        super();
+    }
+
+    public static Bootstrap create() {
+        return new Bootstrap();
+    }
+
+    /**
+     * Add a task.
+     * @param name Unique task name, displayed in the splash screen when it starts.
+     * @param weight Weight of the task in the total progress.
+     * @param task Task to run.
+     * @param dependencies Name of the tasks to be completed before running this one.
+     * @return This bootstrap.
+     */
+    public synchronized Bootstrap add(String name, long weight, BootstrapTask task, String... dependencies) {
+        this.checkNotStarted();
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(task);
+        if (this.nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Task " + name + " already added.");
+        }
+        this.nodes.put(name, new Node(name, this.progress.register(name, weight), task, List.of(dependencies)));
+        return this;
+    }
+
+    /**
+     * Use a progress shared with the splash screen, must be called before adding the tasks.
+     * @param progress Progress receiving the task registrations and updates.
+     * @return This bootstrap.
+     */
+    public synchronized Bootstrap withProgress(LoadingProgress progress) {
+        this.checkNotStarted();
+        if (!this.nodes.isEmpty()) {
+            throw new IllegalStateException("Progress must be set before adding tasks.");
+        }
+        this.progress = Objects.requireNonNull(progress);
+        return this;
+    }
+
+    /**
+     * Give the progress and the task names to a splash screen when each task starts and completes.
+     * The partial progress reported by the tasks is only visible in a splash screen reading the progress, like the UpdatableSwingSplashScreen.
+     * @param splash Splash screen to update.
+     * @return This bootstrap.
+     */
+    public synchronized Bootstrap withSplash(SplashScreen splash) {
+        this.checkNotStarted();
+        this.splash = Objects.requireNonNull(splash);
+        return this;
+    }
+
+    /**
+     * Record each task as a phase of a timeline.
+     * @param timeline Timeline to record the tasks.
+     * @return This bootstrap.
+     */
+    public synchronized Bootstrap withTimeline(StartupTimeline timeline) {
+        this.checkNotStarted();
+        this.timeline = Objects.requireNonNull(timeline);
+        return this;
+    }
+
+    /**
+     * Run the tasks on the given executor instead of virtual threads, the executor is not shut down.
+     * @param executor Executor running the tasks.
+     * @return This bootstrap.
+     */
+    public synchronized Bootstrap withExecutor(ExecutorService executor) {
+        this.checkNotStarted();
+        this.executor = Objects.requireNonNull(executor);
+        return this;
+    }
+
+    /**
+     * Start the tasks, can only be called once.
+     * @return A future completed once all tasks are completed, or failed with the first task failure,
+     * as an IllegalStateException naming the task and having the task exception as cause.
+     * @throws IllegalArgumentException If a dependency does not exist or the dependencies contain a cycle.
+     */
+    public synchronized CompletableFuture<Void> start() {
+        this.checkNotStarted();
+        var order = this.sort();
+        this.started = true;
+        var owned = this.executor == null;
+        var runner = owned ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bootstrap-", 0).factory()) : this.executor;
+        var result = new CompletableFuture<Void>();
+        var futures = new ConcurrentHashMap<String, CompletableFuture<Void>>();
+        for (var node : order) {
+            var dependencies = node.dependencies.stream().map(futures::get).toArray(CompletableFuture[]::new);
+            var future = CompletableFuture.allOf(dependencies).thenRunAsync(() -> this.run(node, result), runner);
+            // Fallback if the task could not be run, a task failure is already reported by run.
+            future.whenComplete((v, e) -> {
+                if (e != null) {
+                    result.completeExceptionally(new IllegalStateException("Bootstrap task " + node.name + " failed.", unwrap(e)));
+                }
+            });
+            futures.put(node.name, future);
+        }
+        CompletableFuture.allOf(futures.values().toArray(CompletableFuture[]::new)).thenRun(() -> result.complete(null));
+        result.whenComplete((v, e) -> {
+            if (e != null) {
+                futures.values().forEach(f -> f.cancel(false));
+            }
+            if (owned) {
+                runner.shutdown();
+            }
+        });
+        return result;
+    }
+
+    private void run(Node node, CompletableFuture<Void> result) {
+        if (result.isDone()) {
+            return;
+        }
+        this.progress.setCurrent(node.name);
+        if (this.splash != null) {
+            this.splash.setCurrentLoading(node.name);
+        }
+        var phase = this.timeline.begin(node.name);
+        try {
+            node.task.run(node.progress);
+        } catch (Exception e) {
+            System.getLogger(Bootstrap.class.getName()).log(System.Logger.Level.ERROR, "Bootstrap task " + node.name + " failed.", e);
+            result.completeExceptionally(new IllegalStateException("Bootstrap task " + node.name + " failed.", e));
+            throw new CompletionException(e);
+        } finally {
+            phase.close();
+        }
+        node.progress.complete();
+        if (this.splash != null) {
+            this.splash.setProgress(this.progress.getPercent());
+        }
+    }
+
+    /**
+     * Order the tasks so each one comes after its dependencies.
+     * @return The sorted tasks.
+     */
+    private List<Node> sort() {
+        var result = new ArrayList<Node>(this.nodes.size());
+        var done = new HashSet<String>();
+        var visiting = new HashSet<String>();
+        for (var node : this.nodes.values()) {
+            this.visit(node, done, visiting, result);
+        }
+        return result;
+    }
+
+    private void visit(Node node, Set<String> done, Set<String> visiting, List<Node> result) {
+        if (done.contains(node.name)) {
+            return;
+        }
+        if (!visiting.add(node.name)) {
+            throw new IllegalArgumentException("Cyclic dependency on task " + node.name + ".");
+        }
+        for (var dependency : node.dependencies) {
+            var dependencyNode = this.nodes.get(dependency);
+            if (dependencyNode == null) {
+                throw new IllegalArgumentException("Task " + node.name + " depends on unknown task " + dependency + ".");
+            }
+            this.visit(dependencyNode, done, visiting, result);
+        }
+        visiting.remove(node.name);
+        done.add(node.name);
+        result.add(node);
+    }
+
+    private void checkNotStarted() {
+        if (this.started) {
+            throw new IllegalStateException("Bootstrap already started.");
+        }
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+    private static final class Node {
+
+        private final String name;
+
+        private final LoadingProgress.Task progress;
+
+        private final BootstrapTask task;
+
+        private final List<String> dependencies;
+
+        private Node(String name, LoadingProgress.Task progress, BootstrapTask task, List<String> dependencies) {
+            super();
+            this.name = name;
+            this.progress = progress;
+            this.task = task;
+            this.dependencies = dependencies;
+        }
+    }
+}
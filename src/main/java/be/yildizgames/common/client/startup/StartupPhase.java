@@ -0,0 +1,76 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.startup;
+
+import java.time.Duration;
+
+/**
+ * Phase measured by a startup timeline.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class StartupPhase {
+
+    private final String name;
+
+    private final String thread;
+
+    private final long start;
+
+    private final long duration;
+
+    StartupPhase(String name, String thread, long start, long duration) {
+        super();
+        this.name = name;
+        this.thread = thread;
+        this.start = start;
+        this.duration = duration;
+    }
+
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The name of the thread running the phase.
+     */
+    public String getThread() {
+        return this.thread;
+    }
+
+    /**
+     * @return The phase start, from the timeline creation.
+     */
+    public Duration getStart() {
+        return Duration.ofNanos(this.start);
+    }
+
+    public Duration getDuration() {
+        return Duration.ofNanos(this.duration);
+    }
+
+    /**
+     * @return The phase end, from the timeline creation.
+     */
+    public Duration getEnd() {
+        return Duration.ofNanos(this.start + this.duration);
+    }
+
+    @Override
+    public String toString() {
+        return this.name + " " + Duration.ofNanos(this.duration).toMillis() + "ms";
+    }
+}
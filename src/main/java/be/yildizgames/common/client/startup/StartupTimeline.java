@@ -0,0 +1,220 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.startup;
+
+import be.yildizgames.common.application.helper.splashscreen.SplashScreen;
+import be.yildizgames.common.client.storage.AtomicFile;
+import be.yildizgames.common.client.storage.LocalStorage;
+import jdk.jfr.FlightRecorder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Timeline of the client launch, made of named phases.
+ * Each phase is timed with nanoTime, emitted as a flight recorder event when a recording was started, for example with -XX:StartFlightRecording, and its name is given to the phase listener,
+ * usually the splash screen, when it starts.
+ * Phases can run concurrently from several threads.
+ * Once started, a summary can be written in the cache directory to find the slowest phases on the players machines.
+ *
+ * Usage:
+ * <pre>
+ * var timeline = StartupTimeline.create(splash);
+ * try (var phase = timeline.begin("translations")) {
+ *     ...
+ * }
+ * timeline.writeSummary();
+ * </pre>
+ *
+ * @author Grégory Van den Borre
+ */
+public final class StartupTimeline {
+
+    private static final String SUMMARY_FILE = "startup-timeline.tsv";
+
+    private final long origin = System.nanoTime();
+
+    private final ConcurrentLinkedQueue<StartupPhase> phases = new ConcurrentLinkedQueue<>();
+
+    private final Consumer<String> listener;
+
+    private StartupTimeline(Consumer<String> listener) {
+        super();
+        this.listener = listener;
+    }
+
+    /**
+     * @return A timeline without phase listener.
+     */
+    public static StartupTimeline create() {
+        return new StartupTimeline(name -> {});
+    }
+
+    /**
+     * @param splash Splash screen displaying the name of each phase when it starts.
+     * @return The timeline.
+     */
+    public static StartupTimeline create(SplashScreen splash) {
+        return new StartupTimeline(splash::setCurrentLoading);
+    }
+
+    /**
+     * @param listener Listener receiving the name of each phase when it starts.
+     * @return The timeline.
+     */
+    public static StartupTimeline create(Consumer<String> listener) {
+        return new StartupTimeline(Objects.requireNonNull(listener));
+    }
+
+    /**
+     * Start a phase, it ends when closed.
+     * @param name Phase name.
+     * @return The running phase.
+     */
+    public Phase begin(String name) {
+        Objects.requireNonNull(name);
+        this.listener.accept(name);
+        return new Phase(name);
+    }
+
+    /**
+     * Add a phase measured elsewhere, like the translation loading times, ending now.
+     * @param name Phase name.
+     * @param duration Phase duration.
+     */
+    public void record(String name, Duration duration) {
+        var nanos = duration.toNanos();
+        this.phases.add(new StartupPhase(name, threadName(), System.nanoTime() - this.origin - nanos, nanos));
+    }
+
+    /**
+     * @return The ended phases, by start time.
+     */
+    public List<StartupPhase> getPhases() {
+        return this.phases.stream()
+                .sorted(Comparator.comparing(StartupPhase::getStart))
+                .toList();
+    }
+
+    /**
+     * @return The time between the timeline creation and the end of the last ended phase.
+     */
+    public Duration getTotal() {
+        return this.phases.stream()
+                .map(StartupPhase::getEnd)
+                .max(Comparator.naturalOrder())
+                .orElse(Duration.ZERO);
+    }
+
+    /**
+     * Write the summary in the engine cache directory, replacing the one of the previous launch.
+     * @return The summary file.
+     * @throws IOException If the file cannot be written.
+     */
+    public Path writeSummary() throws IOException {
+        var file = LocalStorage.getDirectories(LocalStorage.ENGINE).getCache().resolve(SUMMARY_FILE);
+        this.writeSummary(file);
+        return file;
+    }
+
+    /**
+     * Write the summary, one tab separated line per phase with its name, start and duration in milliseconds, and thread.
+     * The slowest phases are listed first.
+     * @param file File to write, replaced atomically.
+     * @throws IOException If the file cannot be written.
+     */
+    public void writeSummary(Path file) throws IOException {
+        var content = new StringBuilder();
+        content.append("# total ").append(toMillis(this.getTotal())).append(" ms\n");
+        content.append("# phase\tstart_ms\tduration_ms\tthread\n");
+        this.phases.stream()
+                .sorted(Comparator.comparing(StartupPhase::getDuration).reversed())
+                .forEach(p -> content.append(p.getName()).append('\t')
+                        .append(toMillis(p.getStart())).append('\t')
+                        .append(toMillis(p.getDuration())).append('\t')
+                        .append(p.getThread()).append('\n'));
+        AtomicFile.writeString(file, content);
+    }
+
+    /**
+     * @return The current thread name, or its id for unnamed threads like virtual threads.
+     */
+    private static String threadName() {
+        var thread = Thread.currentThread();
+        return thread.getName().isEmpty() ? "#" + thread.threadId() : thread.getName();
+    }
+
+    private static String toMillis(Duration duration) {
+        return String.format(Locale.ROOT, "%.3f", duration.toNanos() / 1_000_000.0);
+    }
+
+    /**
+     * Running phase.
+     */
+    public final class Phase implements AutoCloseable {
+
+        private final String name;
+
+        /**
+         * Only created when the flight recorder runs, loading the event class would otherwise initialize it and slow the startup.
+         */
+        private final StartupPhaseEvent event;
+
+        private final long start;
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private Phase(String name) {
+            super();
+            this.name = name;
+            if (FlightRecorder.isInitialized()) {
+                this.event = new StartupPhaseEvent();
+                this.event.begin();
+            } else {
+                this.event = null;
+            }
+            this.start = System.nanoTime();
+        }
+
+        /**
+         * End the phase, only the first call is taken into account, even when closed from several threads.
+         */
+        @Override
+        public void close() {
+            if (!this.ended.compareAndSet(false, true)) {
+                return;
+            }
+            var end = System.nanoTime();
+            if (this.event != null) {
+                this.event.end();
+                if (this.event.shouldCommit()) {
+                    this.event.phase = this.name;
+                    this.event.commit();
+                }
+            }
+            phases.add(new StartupPhase(this.name, threadName(), this.start - origin, end - this.start));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Write files in a temporary file next to the target, then move it over the target, so the target is never partially written.
+ * The move is atomic when the file system supports it, the temporary file is always deleted.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class AtomicFile {
+
+    private AtomicFile() {
+        super();
+    }
+
+    /**
+     * Write a file, its parent directories are created if needed.
+     * @param file File to write.
+     * @param content Write the content in the temporary file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Content content) throws IOException {
+        var parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        var temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            content.writeTo(temp);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Write a text file, encoded in UTF-8.
+     * @param file File to write.
+     * @param content Text to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeString(Path file, CharSequence content) throws IOException {
+        write(file, temp -> Files.writeString(temp, content));
+    }
+
+    @FunctionalInterface
+    public interface Content {
+
+        /**
+         * @param temp Temporary file to write, moved over the target once this method returns.
+         * @throws IOException If the content cannot be written.
+         */
+        void writeTo(Path temp) throws IOException;
+    }
+}
@@ -0,0 +1,367 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import be.yildizgames.common.client.version.FileHasher;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Content addressed store, each file is stored once, named by its hash, in directories sharded by the first hash characters.
+ * Files are materialized in an installation directory with a hard link when possible, or a channel copy otherwise.
+ * The store remembers the content of each materialized target, and the content added but not materialized yet,
+ * content used by no target and not pending anymore can be collected.
+ * Hard linked files share their content with the store, they must not be modified in place, verify() detects such corruption.
+ * The references are saved by saveReferences() and close().
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ContentStore implements Closeable {
+
+    private static final String OBJECTS = "objects";
+
+    private static final String REFERENCES = "references.properties";
+
+    private static final String TARGET_PREFIX = "target.";
+
+    private static final String PENDING_PREFIX = "pending.";
+
+    private final Path root;
+
+    private final FileHasher hasher;
+
+    /**
+     * Hasher without cache, so verify() reads the stored content.
+     */
+    private final FileHasher verifier;
+
+    /**
+     * Number of hexadecimal characters of a hash.
+     */
+    private final int hashLength;
+
+    /**
+     * Content of each materialized target, by absolute target path.
+     */
+    private final Map<String, String> targets = new HashMap<>();
+
+    /**
+     * Content added but not materialized or released yet.
+     */
+    private final Set<String> pending = new HashSet<>();
+
+    private ContentStore(Path root, FileHasher hasher) throws IOException {
+        super();
+        this.root = root;
+        this.hasher = hasher;
+        this.verifier = hasher.withoutCache();
+        try {
+            this.hashLength = MessageDigest.getInstance(hasher.getAlgorithm()).getDigestLength() * 2;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported hash algorithm: " + hasher.getAlgorithm(), e);
+        }
+        Files.createDirectories(root.resolve(OBJECTS));
+        var file = root.resolve(REFERENCES);
+        if (Files.isRegularFile(file)) {
+            var properties = new Properties();
+            try (var reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            for (var name : properties.stringPropertyNames()) {
+                if (name.startsWith(TARGET_PREFIX)) {
+                    this.targets.put(name.substring(TARGET_PREFIX.length()), this.normalize(properties.getProperty(name)));
+                } else if (name.startsWith(PENDING_PREFIX)) {
+                    this.pending.add(this.normalize(name.substring(PENDING_PREFIX.length())));
+                }
+            }
+        }
+    }
+
+    /**
+     * Open the store in the engine data directory, creating it if it does not exist.
+     * @param hasher Hasher naming the content.
+     * @return The opened store.
+     * @throws IOException If the store cannot be read or created.
+     */
+    public static ContentStore open(FileHasher hasher) throws IOException {
+        return open(LocalStorage.getDirectories(LocalStorage.ENGINE).getData().resolve("content"), hasher);
+    }
+
+    /**
+     * Open a store, creating it if it does not exist.
+     * @param root Store directory.
+     * @param hasher Hasher naming the content.
+     * @return The opened store.
+     * @throws IOException If the store cannot be read or created.
+     */
+    public static ContentStore open(Path root, FileHasher hasher) throws IOException {
+        return new ContentStore(Objects.requireNonNull(root), Objects.requireNonNull(hasher));
+    }
+
+    /**
+     * Add a file to the store, nothing is copied if the same content is already present.
+     * The content is kept until it is materialized or released.
+     * @param source File to add.
+     * @return The content hash.
+     * @throws IOException If the file cannot be read or stored.
+     */
+    public String add(Path source) throws IOException {
+        var hash = this.hasher.hash(source);
+        var target = this.path(hash);
+        // Pending before the content exists, so a concurrent collect() cannot delete it.
+        synchronized (this.targets) {
+            this.pending.add(hash);
+        }
+        if (Files.notExists(target)) {
+            Files.createDirectories(target.getParent());
+            var temp = Files.createTempFile(target.getParent(), hash, ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, target);
+                }
+            } catch (FileSystemException e) {
+                if (Files.notExists(target)) {
+                    throw e;
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Add content, typically downloaded, to the store.
+     * @param content Content to add, not closed.
+     * @return The content hash.
+     * @throws IOException If the content cannot be read or stored.
+     */
+    public String add(InputStream content) throws IOException {
+        var temp = Files.createTempFile(this.root, "content", ".tmp");
+        try {
+            Files.copy(content, temp, StandardCopyOption.REPLACE_EXISTING);
+            return this.add(temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @param hash Content hash.
+     * @return True if the content is in the store.
+     * @throws IllegalArgumentException If the hash is not a valid hash for the store algorithm.
+     */
+    public boolean contains(String hash) {
+        return Files.isRegularFile(this.path(hash));
+    }
+
+    /**
+     * @param hash Content hash.
+     * @return The path of the content in the store, it may not exist.
+     * @throws IllegalArgumentException If the hash is not a valid hash for the store algorithm.
+     */
+    public Path path(String hash) {
+        var h = this.normalize(hash);
+        return this.root.resolve(OBJECTS).resolve(h.substring(0, 2)).resolve(h.substring(2, 4)).resolve(h);
+    }
+
+    /**
+     * Place content in a target file, the content previously materialized in this target is released.
+     * A hard link is created if the file system supports it, the content is copied otherwise.
+     * @param hash Content hash.
+     * @param target File to create or replace.
+     * @throws IOException If the content is not in the store or cannot be placed.
+     */
+    public void materialize(String hash, Path target) throws IOException {
+        var h = this.normalize(hash);
+        var source = this.path(h);
+        if (Files.notExists(source)) {
+            throw new IOException("Content not in the store: " + hash);
+        }
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            copy(source, target);
+        }
+        synchronized (this.targets) {
+            this.targets.put(key(target), h);
+            this.pending.remove(h);
+        }
+    }
+
+    /**
+     * Release the content materialized in a target, it is deleted by the next collect() if no other target uses it.
+     * The target file itself is not deleted.
+     * @param target Materialized target.
+     */
+    public void release(Path target) {
+        synchronized (this.targets) {
+            this.targets.remove(key(target));
+        }
+    }
+
+    /**
+     * Release content added but not materialized, it is deleted by the next collect() if no target uses it.
+     * @param hash Content hash.
+     */
+    public void release(String hash) {
+        var h = this.normalize(hash);
+        synchronized (this.targets) {
+            this.pending.remove(h);
+        }
+    }
+
+    /**
+     * Delete the content used by no target and not pending.
+     * @return The number of deleted files.
+     * @throws IOException If the store cannot be read.
+     */
+    public int collect() throws IOException {
+        var objects = this.objects();
+        var deleted = 0;
+        synchronized (this.targets) {
+            var used = new HashSet<>(this.targets.values());
+            used.addAll(this.pending);
+            for (var file : objects) {
+                if (!used.contains(file.getFileName().toString()) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Check the integrity of all the stored content, in parallel, each file is hashed again, without using the hasher cache.
+     * @return The hashes of the corrupted contents.
+     * @throws IOException If the store cannot be read.
+     */
+    public Set<String> verify() throws IOException {
+        try {
+            return this.objects().parallelStream()
+                    .filter(f -> !f.getFileName().toString().equalsIgnoreCase(this.hash(f)))
+                    .map(f -> f.getFileName().toString())
+                    .collect(Collectors.toUnmodifiableSet());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Save the materialized targets and the pending content, the file is replaced atomically.
+     * @throws IOException If the file cannot be written.
+     */
+    public void saveReferences() throws IOException {
+        var properties = new Properties();
+        synchronized (this.targets) {
+            this.targets.forEach((t, h) -> properties.setProperty(TARGET_PREFIX + t, h));
+            this.pending.forEach(h -> properties.setProperty(PENDING_PREFIX + h, ""));
+        }
+        AtomicFile.write(this.root.resolve(REFERENCES), temp -> {
+            try (var writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, null);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.saveReferences();
+    }
+
+    private List<Path> objects() throws IOException {
+        try (var stream = Files.walk(this.root.resolve(OBJECTS))) {
+            return stream.filter(Files::isRegularFile)
+                    .filter(f -> !f.getFileName().toString().endsWith(".tmp"))
+                    .toList();
+        }
+    }
+
+    /**
+     * Check a hash, as they may come from a remote manifest, before using it as a file name.
+     * @param hash Hash to check.
+     * @return The hash in upper case.
+     * @throws IllegalArgumentException If the hash is not hexadecimal with the algorithm length.
+     */
+    private String normalize(String hash) {
+        if (!this.isValid(hash)) {
+            throw new IllegalArgumentException("Invalid hash: " + hash);
+        }
+        return hash.toUpperCase(Locale.ROOT);
+    }
+
+    private boolean isValid(String hash) {
+        if (hash == null || hash.length() != this.hashLength) {
+            return false;
+        }
+        for (var i = 0; i < hash.length(); i++) {
+            var c = hash.charAt(i);
+            if (!(c >= '0' && c <= '9' || c >= 'a' && c <= 'f' || c >= 'A' && c <= 'F')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String key(Path target) {
+        return target.toAbsolutePath().normalize().toString();
+    }
+
+    private String hash(Path file) {
+        try {
+            return this.verifier.hash(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void copy(Path source, Path target) throws IOException {
+        try (var in = FileChannel.open(source, StandardOpenOption.READ);
+             var out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            var size = in.size();
+            var position = 0L;
+            while (position < size) {
+                position += in.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
@@ -0,0 +1,479 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Persistent key value cache, stored in an append only log file with an index in memory.
+ * The total size of the values is bounded, the least recently used entries are evicted first.
+ * The log is compacted in background when it contains too many obsolete records: live records are copied in a new file,
+ * then moved over the log, so a crash during compaction leaves the previous log intact.
+ * Each record has a checksum, a record partially written during a crash is discarded when the cache is opened.
+ * Writes are synchronized to the disk in batches, at a fixed interval, on sync() and on close().
+ * Neither compaction copies nor disk synchronizations block the readers and writers.
+ * All methods are thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LocalCache implements Closeable {
+
+    /**
+     * Key length, value length, checksum.
+     */
+    private static final int HEADER_SIZE = 12;
+
+    private static final int TOMBSTONE = -1;
+
+    private static final int MAX_KEY_SIZE = 1 << 16;
+
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    private static final ScheduledExecutorService SYNC = Executors.newSingleThreadScheduledExecutor(r -> {
+        var t = new Thread(r, "local-cache-sync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path file;
+
+    private final long maxBytes;
+
+    /**
+     * Live entries, in access order, the first one being the least recently used.
+     */
+    private final Map<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ScheduledFuture<?> syncTask;
+
+    /**
+     * Serialize the compactions, and the close with them, taken before this instance lock.
+     */
+    private final Object compactionLock = new Object();
+
+    private FileChannel channel;
+
+    private long end;
+
+    private long liveBytes;
+
+    private boolean dirty;
+
+    private boolean closed;
+
+    private boolean compactionScheduled;
+
+    private LocalCache(Path file, long maxBytes, Duration syncInterval) throws IOException {
+        super();
+        this.file = file;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.deleteIfExists(this.compactionFile());
+        this.replay();
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (this.channel.size() > this.end) {
+            System.getLogger(LocalCache.class.getName()).log(System.Logger.Level.WARNING, "Discarding incomplete records in {0}", file);
+            this.channel.truncate(this.end);
+        }
+        var period = syncInterval.toMillis();
+        this.syncTask = period > 0 ? SYNC.scheduleWithFixedDelay(this::syncQuietly, period, period, TimeUnit.MILLISECONDS) : null;
+    }
+
+    /**
+     * Open a cache, creating it if it does not exist.
+     * @param file Log file.
+     * @param maxBytes Maximum size of the stored keys and values, in bytes.
+     * @param syncInterval Interval between two synchronizations to the disk, zero to synchronize after each write.
+     * @return The opened cache.
+     * @throws IOException If the file cannot be read or created.
+     */
+    public static LocalCache open(Path file, long maxBytes, Duration syncInterval) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive.");
+        }
+        return new LocalCache(Objects.requireNonNull(file), maxBytes, Objects.requireNonNull(syncInterval));
+    }
+
+    /**
+     * Retrieve a value, and mark it as recently used.
+     * @param key Value key.
+     * @return The value, empty if not in the cache.
+     * @throws IOException If the value cannot be read.
+     */
+    public synchronized Optional<byte[]> get(String key) throws IOException {
+        this.checkOpen();
+        var entry = this.index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        var buffer = ByteBuffer.allocate(entry.valueLength);
+        readFully(this.channel, buffer, entry.valuePosition);
+        return Optional.of(buffer.array());
+    }
+
+    /**
+     * Store a value, replacing the previous one, and evict the least recently used values if the cache is full.
+     * @param key Value key.
+     * @param value Value to store.
+     * @throws IOException If the value cannot be written.
+     */
+    public void put(String key, byte[] value) throws IOException {
+        var keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_SIZE) {
+            throw new IllegalArgumentException("Key too long.");
+        }
+        if (keyBytes.length + (long) value.length > this.maxBytes) {
+            throw new IllegalArgumentException("Value larger than the cache.");
+        }
+        synchronized (this) {
+            this.checkOpen();
+            var position = this.append(keyBytes, value);
+            this.replace(key, new Entry(position + HEADER_SIZE + keyBytes.length, value.length, keyBytes.length));
+            while (this.liveBytes > this.maxBytes) {
+                this.removeEntry(this.index.keySet().iterator().next());
+            }
+            this.afterWrite();
+        }
+        this.syncIfImmediate();
+    }
+
+    /**
+     * Remove a value.
+     * @param key Value key.
+     * @throws IOException If the removal cannot be written.
+     */
+    public void remove(String key) throws IOException {
+        synchronized (this) {
+            this.checkOpen();
+            if (!this.index.containsKey(key)) {
+                return;
+            }
+            this.removeEntry(key);
+            this.afterWrite();
+        }
+        this.syncIfImmediate();
+    }
+
+    /**
+     * @return The number of values in the cache.
+     */
+    public synchronized int size() {
+        return this.index.size();
+    }
+
+    /**
+     * @return The size of the stored keys and values, in bytes.
+     */
+    public synchronized long getLiveBytes() {
+        return this.liveBytes;
+    }
+
+    /**
+     * @return The size of the log file, in bytes.
+     */
+    public synchronized long getFileSize() {
+        return this.end;
+    }
+
+    /**
+     * Synchronize the pending writes to the disk, the cache stays usable during the synchronization.
+     * @throws IOException If the synchronization failed.
+     */
+    public void sync() throws IOException {
+        FileChannel target;
+        synchronized (this) {
+            if (!this.dirty || this.closed) {
+                return;
+            }
+            this.dirty = false;
+            target = this.channel;
+        }
+        try {
+            target.force(false);
+        } catch (ClosedChannelException e) {
+            // Replaced by a compaction or closed, both synchronize the data they keep.
+        } catch (IOException e) {
+            synchronized (this) {
+                this.dirty = true;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Rewrite the log with only the live values.
+     * The live values are copied without blocking the cache, only the records written meanwhile are copied while blocking it.
+     * @throws IOException If the log cannot be rewritten, the previous log is kept.
+     */
+    public void compact() throws IOException {
+        synchronized (this.compactionLock) {
+            Map<String, Entry> snapshot;
+            FileChannel source;
+            long snapshotEnd;
+            synchronized (this) {
+                this.checkOpen();
+                snapshot = new LinkedHashMap<>(this.index);
+                source = this.channel;
+                snapshotEnd = this.end;
+            }
+            var temp = this.compactionFile();
+            var moved = new IdentityHashMap<Entry, Long>();
+            var target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                long position = 0;
+                for (var entry : snapshot.values()) {
+                    var length = HEADER_SIZE + entry.keyLength + entry.valueLength;
+                    transfer(source, entry.valuePosition - HEADER_SIZE - entry.keyLength, length, target);
+                    moved.put(entry, position + HEADER_SIZE + entry.keyLength);
+                    position += length;
+                }
+                target.force(true);
+                synchronized (this) {
+                    this.checkOpen();
+                    // Records written during the copy, synchronized later like any other write.
+                    var tail = this.end - snapshotEnd;
+                    transfer(this.channel, snapshotEnd, tail, target);
+                    target.close();
+                    var entries = new LinkedHashMap<String, Entry>();
+                    for (var e : this.index.entrySet()) {
+                        var entry = e.getValue();
+                        var newPosition = moved.get(entry);
+                        entries.put(e.getKey(), new Entry(newPosition == null ? entry.valuePosition - snapshotEnd + position : newPosition,
+                                entry.valueLength, entry.keyLength));
+                    }
+                    this.channel.close();
+                    try {
+                        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    } finally {
+                        this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    }
+                    this.index.clear();
+                    this.index.putAll(entries);
+                    this.end = position + tail;
+                    this.dirty = tail > 0;
+                }
+            } finally {
+                target.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.compactionLock) {
+            FileChannel target;
+            synchronized (this) {
+                if (this.closed) {
+                    return;
+                }
+                if (this.syncTask != null) {
+                    this.syncTask.cancel(false);
+                }
+                this.closed = true;
+                target = this.channel;
+            }
+            try {
+                target.force(false);
+            } finally {
+                target.close();
+            }
+        }
+    }
+
+    private long append(byte[] key, byte[] value) throws IOException {
+        var valueLength = value == null ? TOMBSTONE : value.length;
+        var buffer = ByteBuffer.allocate(HEADER_SIZE + key.length + Math.max(0, valueLength));
+        buffer.putInt(key.length).putInt(valueLength).putInt(0).put(key);
+        if (value != null) {
+            buffer.put(value);
+        }
+        buffer.putInt(8, checksum(key.length, valueLength, buffer.array(), HEADER_SIZE));
+        buffer.flip();
+        var position = this.end;
+        while (buffer.hasRemaining()) {
+            this.channel.write(buffer, this.end + buffer.position());
+        }
+        this.end += buffer.limit();
+        this.dirty = true;
+        return position;
+    }
+
+    private void replace(String key, Entry entry) {
+        var previous = entry == null ? this.index.remove(key) : this.index.put(key, entry);
+        if (previous != null) {
+            this.liveBytes -= previous.keyLength + (long) previous.valueLength;
+        }
+        if (entry != null) {
+            this.liveBytes += entry.keyLength + (long) entry.valueLength;
+        }
+    }
+
+    /**
+     * Write a tombstone and remove the entry from the index, must be called with this instance lock.
+     */
+    private void removeEntry(String key) throws IOException {
+        this.append(key.getBytes(StandardCharsets.UTF_8), null);
+        this.replace(key, null);
+    }
+
+    /**
+     * Schedule a compaction if the log contains too many obsolete records, must be called with this instance lock.
+     */
+    private void afterWrite() {
+        if (!this.compactionScheduled && this.end > MIN_COMPACTION_SIZE
+                && this.end > 2 * (this.liveBytes + HEADER_SIZE * (long) this.index.size())) {
+            this.compactionScheduled = true;
+            SYNC.execute(this::compactQuietly);
+        }
+    }
+
+    /**
+     * Synchronize after each write when no synchronization interval is set, outside of this instance lock.
+     */
+    private void syncIfImmediate() throws IOException {
+        if (this.syncTask == null) {
+            this.sync();
+        }
+    }
+
+    private void compactQuietly() {
+        try {
+            this.compact();
+        } catch (IllegalStateException e) {
+            // Closed before the compaction.
+        } catch (IOException e) {
+            System.getLogger(LocalCache.class.getName()).log(System.Logger.Level.ERROR, "Cannot compact " + this.file, e);
+        } finally {
+            synchronized (this) {
+                this.compactionScheduled = false;
+            }
+        }
+    }
+
+    /**
+     * Rebuild the index from the log, stopping at the first invalid record.
+     */
+    private void replay() throws IOException {
+        if (Files.notExists(this.file)) {
+            return;
+        }
+        var size = Files.size(this.file);
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file), 1 << 16))) {
+            while (this.end + HEADER_SIZE <= size) {
+                var keyLength = in.readInt();
+                var valueLength = in.readInt();
+                var crc = in.readInt();
+                if (keyLength < 0 || keyLength > MAX_KEY_SIZE || valueLength < TOMBSTONE
+                        || this.end + HEADER_SIZE + keyLength + Math.max(0, valueLength) > size) {
+                    return;
+                }
+                var data = new byte[keyLength + Math.max(0, valueLength)];
+                in.readFully(data);
+                if (checksum(keyLength, valueLength, data, 0) != crc) {
+                    return;
+                }
+                var key = new String(data, 0, keyLength, StandardCharsets.UTF_8);
+                this.replace(key, valueLength == TOMBSTONE ? null : new Entry(this.end + HEADER_SIZE + keyLength, valueLength, keyLength));
+                this.end += HEADER_SIZE + data.length;
+            }
+        } catch (EOFException e) {
+            // Truncated record, the end position is the one of the last valid record.
+        }
+    }
+
+    private void syncQuietly() {
+        try {
+            this.sync();
+        } catch (IOException e) {
+            System.getLogger(LocalCache.class.getName()).log(System.Logger.Level.ERROR, "Cannot synchronize " + this.file, e);
+        }
+    }
+
+    private void checkOpen() {
+        if (this.closed) {
+            throw new IllegalStateException("Cache is closed.");
+        }
+    }
+
+    private Path compactionFile() {
+        return this.file.resolveSibling(this.file.getFileName() + ".compact");
+    }
+
+    private static int checksum(int keyLength, int valueLength, byte[] data, int offset) {
+        var crc = new CRC32C();
+        crc.update(ByteBuffer.allocate(8).putInt(keyLength).putInt(valueLength).flip());
+        crc.update(data, offset, keyLength + Math.max(0, valueLength));
+        return (int) crc.getValue();
+    }
+
+    private static void transfer(FileChannel source, long position, long length, FileChannel target) throws IOException {
+        var copied = 0L;
+        while (copied < length) {
+            copied += source.transferTo(position + copied, length - copied, target);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new EOFException();
+            }
+        }
+    }
+
+    /**
+     * Location of a live value in the log.
+     */
+    private static final class Entry {
+
+        private final long valuePosition;
+
+        private final int valueLength;
+
+        private final int keyLength;
+
+        private Entry(long valuePosition, int valueLength, int keyLength) {
+            super();
+            this.valuePosition = valuePosition;
+            this.valueLength = valueLength;
+            this.keyLength = keyLength;
+        }
+    }
+}
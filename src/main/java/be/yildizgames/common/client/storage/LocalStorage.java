@@ -16,22 +16,52 @@
 package be.yildizgames.common.client.storage;
 
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Provide the local directories, resolved once for the platform and cached.
+ *
  * @author Grégory Van den Borre
  */
 public class LocalStorage {
 
+    /**
+     * Application name used for the files shared by all the engine clients.
+     */
+    public static final String ENGINE = "yildiz-games";
+
+    private static final Map<String, StorageDirectories> DIRECTORIES = new ConcurrentHashMap<>();
+
+    /**
+     * Resolved on first use, computing it twice in a race gives the same result.
+     */
+    private static volatile Path machineLocal;
+
     private LocalStorage() {
         super();
     }
 
+    /**
+     * @return The directory shared by all users of the machine: ProgramData on Windows, /Users/Shared on macOS, the user home on Linux.
+     * @throws IllegalStateException If the operating system is not supported.
+     */
     public static Path getMachineLocalDirectory() {
-        if(System.getProperty("os.name").toLowerCase().contains("win")) {
-            return Path.of(System.getenv("ProgramData"));
-        } else if(System.getProperty("os.name").toLowerCase().contains("linux")) {
-            return Path.of(System.getProperty("user.home"));
+        var directory = machineLocal;
+        if (directory == null) {
+            directory = StorageDirectories.machineLocal(System.getenv(), System.getProperties());
+            machineLocal = directory;
         }
-        throw new IllegalStateException("Unsupported operating system or architecture.");
+        return directory;
+    }
+
+    /**
+     * Provide the data, config, cache and temporary directories of an application.
+     * @param application Application name.
+     * @return The directories, resolved on first call for this application.
+     * @throws IllegalStateException If the operating system is not supported.
+     */
+    public static StorageDirectories getDirectories(String application) {
+        return DIRECTORIES.computeIfAbsent(application, a -> StorageDirectories.resolve(a, System.getenv(), System.getProperties()));
     }
 }
@@ -0,0 +1,227 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client settings kept in memory and saved in a properties file in background.
+ * Reading or changing a setting never accesses the disk, changes are written by a background thread
+ * once no change happened during the debounce delay, so a burst of changes is written once. The file is replaced atomically.
+ * Listeners are notified of each change.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SettingsStore implements Closeable {
+
+    private static final String FILE_NAME = "settings.properties";
+
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor(r -> {
+        var t = new Thread(r, "settings-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Path file;
+
+    private final Duration debounce;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    private final List<SettingsListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Serialize the writes of the settings file.
+     */
+    private final Object fileLock = new Object();
+
+    /**
+     * Incremented on each change.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Generation of the last saved snapshot, guarded by fileLock.
+     */
+    private long savedGeneration;
+
+    private ScheduledFuture<?> pendingWrite;
+
+    private SettingsStore(Path file, Duration debounce) throws IOException {
+        super();
+        this.file = file;
+        this.debounce = debounce;
+        if (Files.isRegularFile(file)) {
+            var properties = new Properties();
+            try (var reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+            for (var name : properties.stringPropertyNames()) {
+                this.values.put(name, properties.getProperty(name));
+            }
+        }
+    }
+
+    /**
+     * Open the settings of an application, in its config directory.
+     * @param application Application name.
+     * @return The loaded settings, saved 500ms after the last change.
+     * @throws IOException If the settings file exists but cannot be read.
+     */
+    public static SettingsStore open(String application) throws IOException {
+        return open(LocalStorage.getDirectories(application).getConfig().resolve(FILE_NAME), Duration.ofMillis(500));
+    }
+
+    /**
+     * Open a settings file.
+     * @param file Properties file, created on the first save if it does not exist.
+     * @param debounce Delay between a change and the save.
+     * @return The loaded settings.
+     * @throws IOException If the file exists but cannot be read.
+     */
+    public static SettingsStore open(Path file, Duration debounce) throws IOException {
+        return new SettingsStore(Objects.requireNonNull(file), Objects.requireNonNull(debounce));
+    }
+
+    /**
+     * @param key Setting key.
+     * @return The setting value, empty if not set.
+     */
+    public Optional<String> get(String key) {
+        return Optional.ofNullable(this.values.get(key));
+    }
+
+    /**
+     * @param key Setting key.
+     * @param defaultValue Value to return if the setting is not set.
+     * @return The setting value.
+     */
+    public String get(String key, String defaultValue) {
+        return this.values.getOrDefault(key, defaultValue);
+    }
+
+    /**
+     * Change a setting, schedule the save and notify the listeners if the value changed.
+     * A listener failure is logged, and does not prevent the other listeners to be notified.
+     * @param key Setting key.
+     * @param value New value, null to remove the setting.
+     */
+    public void set(String key, String value) {
+        Objects.requireNonNull(key);
+        var old = value == null ? this.values.remove(key) : this.values.put(key, value);
+        if (Objects.equals(old, value)) {
+            return;
+        }
+        this.generation.incrementAndGet();
+        this.scheduleWrite();
+        for (var listener : this.listeners) {
+            try {
+                listener.changed(key, old, value);
+            } catch (RuntimeException e) {
+                System.getLogger(SettingsStore.class.getName()).log(System.Logger.Level.ERROR, "Settings listener failed for " + key, e);
+            }
+        }
+    }
+
+    public void addListener(SettingsListener listener) {
+        this.listeners.add(Objects.requireNonNull(listener));
+    }
+
+    public void removeListener(SettingsListener listener) {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Provide the settings as properties, for example to create a BaseConfiguration.
+     * @return A snapshot of the settings.
+     */
+    public Properties toProperties() {
+        var properties = new Properties();
+        properties.putAll(this.values);
+        return properties;
+    }
+
+    /**
+     * Save the settings now, on the calling thread, cancelling any pending save.
+     * @throws IOException If the file cannot be written.
+     */
+    public void flush() throws IOException {
+        synchronized (this) {
+            if (this.pendingWrite != null) {
+                this.pendingWrite.cancel(false);
+                this.pendingWrite = null;
+            }
+        }
+        this.write();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.flush();
+    }
+
+    /**
+     * Restart the debounce delay, a change made while a save is running is then saved by the next one.
+     */
+    private synchronized void scheduleWrite() {
+        if (this.pendingWrite != null) {
+            this.pendingWrite.cancel(false);
+        }
+        this.pendingWrite = WRITER.schedule(this::writeQuietly, this.debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void writeQuietly() {
+        try {
+            this.write();
+        } catch (IOException e) {
+            System.getLogger(SettingsStore.class.getName()).log(System.Logger.Level.ERROR, "Cannot save settings " + this.file, e);
+        }
+    }
+
+    /**
+     * Write a snapshot of the settings in a temporary file, then move it over the settings file, unless already saved.
+     */
+    private void write() throws IOException {
+        synchronized (this.fileLock) {
+            var snapshotGeneration = this.generation.get();
+            if (snapshotGeneration == this.savedGeneration) {
+                return;
+            }
+            AtomicFile.write(this.file, temp -> {
+                try (var writer = Files.newBufferedWriter(temp)) {
+                    this.toProperties().store(writer, null);
+                }
+            });
+            this.savedGeneration = snapshotGeneration;
+        }
+    }
+}
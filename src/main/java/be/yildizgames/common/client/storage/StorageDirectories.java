@@ -0,0 +1,199 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Directories where an application stores its files, resolved once for the platform.
+ * On Linux, the XDG base directory variables are followed, relative values are ignored as required by the specification,
+ * the temporary directory is the runtime directory when available,
+ * which is usually a tmpfs.
+ * The cache directory can be moved to a faster volume with the yildiz.storage.cache system property
+ * or the YILDIZ_STORAGE_CACHE environment variable, the application name is appended to it.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class StorageDirectories {
+
+    /**
+     * System property overriding the cache directory.
+     */
+    public static final String CACHE_PROPERTY = "yildiz.storage.cache";
+
+    /**
+     * Environment variable overriding the cache directory, the system property has priority.
+     */
+    public static final String CACHE_VARIABLE = "YILDIZ_STORAGE_CACHE";
+
+    private final Path machineLocal;
+
+    private final Path data;
+
+    private final Path config;
+
+    private final Path cache;
+
+    private final Path temp;
+
+    private StorageDirectories(Path machineLocal, Path data, Path config, Path cache, Path temp) {
+        super();
+        this.machineLocal = machineLocal;
+        this.data = data;
+        this.config = config;
+        this.cache = cache;
+        this.temp = temp;
+    }
+
+    /**
+     * Resolve the directories for an application.
+     * @param application Application name, used as sub directory.
+     * @param environment Environment variables, System.getenv() outside of tests.
+     * @param properties System properties, System.getProperties() outside of tests.
+     * @return The resolved directories.
+     * @throws IllegalStateException If the operating system is not supported.
+     */
+    public static StorageDirectories resolve(String application, Map<String, String> environment, Properties properties) {
+        Objects.requireNonNull(application);
+        var os = Platform.of(properties);
+        var home = Path.of(properties.getProperty("user.home"));
+        var tmp = Path.of(properties.getProperty("java.io.tmpdir"));
+        Path data;
+        Path config;
+        Path cache;
+        Path temp;
+        switch (os) {
+            case WINDOWS -> {
+                var local = variable(environment, "LOCALAPPDATA", home.resolve("AppData").resolve("Local"));
+                data = local.resolve(application);
+                config = variable(environment, "APPDATA", home.resolve("AppData").resolve("Roaming")).resolve(application);
+                cache = local.resolve(application).resolve("cache");
+                temp = tmp.resolve(application);
+            }
+            case MAC -> {
+                var library = home.resolve("Library");
+                data = library.resolve("Application Support").resolve(application);
+                config = library.resolve("Preferences").resolve(application);
+                cache = library.resolve("Caches").resolve(application);
+                temp = tmp.resolve(application);
+            }
+            default -> {
+                data = xdgVariable(environment, "XDG_DATA_HOME", home.resolve(".local").resolve("share")).resolve(application);
+                config = xdgVariable(environment, "XDG_CONFIG_HOME", home.resolve(".config")).resolve(application);
+                cache = xdgVariable(environment, "XDG_CACHE_HOME", home.resolve(".cache")).resolve(application);
+                temp = xdgVariable(environment, "XDG_RUNTIME_DIR", tmp).resolve(application);
+            }
+        }
+        var cacheOverride = properties.getProperty(CACHE_PROPERTY, environment.get(CACHE_VARIABLE));
+        if (cacheOverride != null && !cacheOverride.isBlank()) {
+            cache = Path.of(cacheOverride).resolve(application);
+        }
+        return new StorageDirectories(machineLocal(environment, properties), data, config, cache, temp);
+    }
+
+    /**
+     * Resolve the directory shared by all users of the machine.
+     * @param environment Environment variables.
+     * @param properties System properties.
+     * @return ProgramData on Windows, /Users/Shared on macOS, the user home on Linux.
+     * @throws IllegalStateException If the operating system is not supported.
+     */
+    static Path machineLocal(Map<String, String> environment, Properties properties) {
+        return switch (Platform.of(properties)) {
+            case WINDOWS -> variable(environment, "ProgramData", Path.of("C:\\ProgramData"));
+            case MAC -> Path.of("/Users/Shared");
+            case LINUX -> Path.of(properties.getProperty("user.home"));
+        };
+    }
+
+    /**
+     * Create a copy of these directories with another cache directory, for example on a tmpfs or a faster volume.
+     * @param cache Cache directory to use.
+     * @return The new directories.
+     */
+    public StorageDirectories withCache(Path cache) {
+        return new StorageDirectories(this.machineLocal, this.data, this.config, Objects.requireNonNull(cache), this.temp);
+    }
+
+    /**
+     * @return The directory shared by all users of the machine, not specific to the application.
+     */
+    public Path getMachineLocal() {
+        return this.machineLocal;
+    }
+
+    /**
+     * @return The directory for the application persistent data.
+     */
+    public Path getData() {
+        return this.data;
+    }
+
+    /**
+     * @return The directory for the application configuration.
+     */
+    public Path getConfig() {
+        return this.config;
+    }
+
+    /**
+     * @return The directory for files that can be recreated, and deleted at any time.
+     */
+    public Path getCache() {
+        return this.cache;
+    }
+
+    /**
+     * @return The directory for files only valid during the application execution.
+     */
+    public Path getTemp() {
+        return this.temp;
+    }
+
+    private static Path variable(Map<String, String> environment, String name, Path defaultValue) {
+        var value = environment.get(name);
+        return value == null || value.isBlank() ? defaultValue : Path.of(value);
+    }
+
+    /**
+     * Read an XDG base directory variable, a relative path is invalid and ignored as a blank one.
+     */
+    private static Path xdgVariable(Map<String, String> environment, String name, Path defaultValue) {
+        var value = variable(environment, name, defaultValue);
+        return value.isAbsolute() ? value : defaultValue;
+    }
+
+    private enum Platform {
+
+        WINDOWS, MAC, LINUX;
+
+        private static Platform of(Properties properties) {
+            var name = properties.getProperty("os.name", "").toLowerCase(Locale.ROOT);
+            if (name.contains("win")) {
+                return WINDOWS;
+            } else if (name.contains("mac")) {
+                return MAC;
+            } else if (name.contains("linux")) {
+                return LINUX;
+            }
+            throw new IllegalStateException("Unsupported operating system or architecture.");
+        }
+    }
+}
@@ -17,36 +17,306 @@ package be.yildizgames.common.client.translation;
 
 import be.yildizgames.common.configuration.LanguageConfiguration;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
+ * Translation based on resource bundles.
+ * The bundles are compiled once into flat tables, the active one is swapped when the locale changes,
+ * so a lookup with a resolved TranslationKey is a single array read.
+ * Depending on the TranslationLoading mode, the bundles not used by the active locale can be loaded on demand or in background.
+ * The values can also come from a memory mapped CompiledTranslations file, falling back to the bundles when not present.
+ * Missing keys are remembered per locale and reported only once, the key itself is returned as value.
+ *
  * @author Grégory Van den Borre
  */
 public class BaseTranslation implements Translation {
 
-    private final Map<Locale, ResourceBundle> bundles = new HashMap<>();
+    private final Map<Locale, CompletableFuture<TranslationTable>> tables = new ConcurrentHashMap<>();
+
+    private final Map<Locale, Duration> loadingTimes = new ConcurrentHashMap<>();
+
+    private final TranslationKeys keys = new TranslationKeys();
 
     private final LanguageConfiguration configuration;
 
+    private final String baseName;
+
+    /**
+     * Compiled translation file, null if the bundles are used.
+     */
+    private final CompiledTranslations compiled;
+
+    private volatile TranslationTable active;
+
     protected BaseTranslation(LanguageConfiguration configuration, Class<?> c) {
+        this(configuration, c, TranslationLoading.EAGER);
+    }
+
+    protected BaseTranslation(LanguageConfiguration configuration, Class<?> c, TranslationLoading loading) {
+        this(configuration, c, loading, loading == TranslationLoading.BACKGROUND ? BackgroundLoader.EXECUTOR : Runnable::run);
+    }
+
+    /**
+     * @param configuration Configuration providing the active and supported locales.
+     * @param c Class whose name is the bundle base name.
+     * @param loading Loading mode.
+     * @param executor Executor used to load the bundles in BACKGROUND mode.
+     */
+    protected BaseTranslation(LanguageConfiguration configuration, Class<?> c, TranslationLoading loading, Executor executor) {
+        this(configuration, c, loading, executor, null);
+    }
+
+    /**
+     * Use a compiled translation file if it exists, the locales it does not contain are loaded from the bundles.
+     * @param configuration Configuration providing the active and supported locales.
+     * @param c Class whose name is the bundle base name.
+     * @param loading Loading mode.
+     * @param compiled Compiled translation file, created with CompiledTranslations.
+     */
+    protected BaseTranslation(LanguageConfiguration configuration, Class<?> c, TranslationLoading loading, Path compiled) {
+        this(configuration, c, loading, loading == TranslationLoading.BACKGROUND ? BackgroundLoader.EXECUTOR : Runnable::run, compiled);
+    }
+
+    private BaseTranslation(LanguageConfiguration configuration, Class<?> c, TranslationLoading loading, Executor executor, Path compiled) {
         super();
         this.configuration = Objects.requireNonNull(configuration);
+        this.baseName = c.getName();
+        this.compiled = compiled == null ? null : openCompiled(compiled);
+        Objects.requireNonNull(loading);
+        Objects.requireNonNull(executor);
+        var current = configuration.getLocale();
+        this.activate(current);
         for(var l : configuration.getSupportedLocale()) {
-            this.bundles.put(l, ResourceBundle.getBundle(c.getName(), l));
+            if (loading == TranslationLoading.EAGER) {
+                this.load(l);
+            } else if (loading == TranslationLoading.BACKGROUND && !l.equals(current)) {
+                var future = new CompletableFuture<TranslationTable>();
+                if (this.tables.putIfAbsent(l, future) == null) {
+                    try {
+                        executor.execute(() -> this.compile(l, future));
+                    } catch (RejectedExecutionException e) {
+                        System.getLogger(this.getClass().getName()).log(System.Logger.Level.WARNING, "Background loading rejected, loading " + l + " now", e);
+                        this.compile(l, future);
+                    }
+                }
+            }
         }
     }
 
+    /**
+     * Provide the time spent to load and compile each bundle loaded so far.
+     * @return An unmodifiable snapshot of the loading time per locale.
+     */
+    public final Map<Locale, Duration> getLoadingTimes() {
+        return Map.copyOf(this.loadingTimes);
+    }
+
     @Override
     public final String get(String key) {
+        var table = this.current();
+        var k = this.keys.find(key);
+        var value = k == null ? null : table.get(k.getId());
+        return value == null ? this.missing(table, key) : value;
+    }
+
+    @Override
+    public final TranslationKey key(String key) {
+        return this.keys.register(key);
+    }
+
+    /**
+     * Retrieve the translation in the active table.
+     * The active table follows the configuration locale after any call to get(String) or refreshLocale().
+     * A key not resolved by this translation is looked up by its name.
+     * @param key Key handle.
+     * @return The translated value, or the key name if no translation exists.
+     */
+    @Override
+    public final String get(TranslationKey key) {
+        var table = this.active;
+        var value = table.get(this.id(key));
+        return value == null ? this.missing(table, key.getName()) : value;
+    }
+
+    /**
+     * Retrieve the template in the table matching the configuration locale, compiled once per locale.
+     * @param key Key name.
+     * @return The template, returning the key if no translation exists.
+     */
+    @Override
+    public final MessageTemplate template(String key) {
+        var table = this.current();
+        var k = this.keys.find(key);
+        var template = k == null ? null : table.template(k.getId());
+        return template == null ? this.missingTemplate(table, key) : template;
+    }
+
+    /**
+     * Retrieve the template in the active table, compiled once per locale.
+     * A key not resolved by this translation is looked up by its name.
+     * @param key Key handle.
+     * @return The template, returning the key name if no translation exists.
+     */
+    @Override
+    public final MessageTemplate template(TranslationKey key) {
+        var table = this.active;
+        var template = table.template(this.id(key));
+        return template == null ? this.missingTemplate(table, key.getName()) : template;
+    }
+
+    /**
+     * Provide the index of a key in the tables of this translation.
+     * @param key Key handle, possibly resolved by another translation or not resolved at all.
+     * @return The key index, or an invalid index if the key is unknown.
+     */
+    private int id(TranslationKey key) {
+        if (key.isFrom(this.keys)) {
+            return key.getId();
+        }
+        var k = this.keys.find(key.getName());
+        return k == null ? TranslationKey.UNRESOLVED : k.getId();
+    }
+
+    /**
+     * Swap the active table to the one matching the configuration locale.
+     * To be called when the language is changed.
+     */
+    public final void refreshLocale() {
+        this.activate(this.configuration.getLocale());
+    }
+
+    /**
+     * @return The active table, swapped first if the configuration locale changed.
+     */
+    private TranslationTable current() {
+        var table = this.active;
+        var locale = this.configuration.getLocale();
+        if (table.getLocale() != locale && !table.getLocale().equals(locale)) {
+            table = this.activate(locale);
+        }
+        return table;
+    }
+
+    private TranslationTable activate(Locale locale) {
+        var table = this.load(locale);
+        this.active = table;
+        return table;
+    }
+
+    /**
+     * Retrieve the table for a locale, compiling it on the calling thread if no other thread is already doing it.
+     * @param locale Locale to load.
+     * @return The table, empty if the bundle could not be loaded.
+     */
+    private TranslationTable load(Locale locale) {
+        var future = this.tables.get(locale);
+        if (future == null) {
+            var created = new CompletableFuture<TranslationTable>();
+            future = this.tables.putIfAbsent(locale, created);
+            if (future == null) {
+                future = created;
+                this.compile(locale, created);
+            }
+        }
+        return future.join();
+    }
+
+    private void compile(Locale locale, CompletableFuture<TranslationTable> future) {
+        var start = System.nanoTime();
+        TranslationTable table;
         try {
-            return this.bundles.get(this.configuration.getLocale()).getString(key);
+            if (this.compiled != null && this.compiled.contains(locale)) {
+                table = this.compiled.table(locale, this.keys);
+            } else {
+                table = TranslationTable.compile(locale, ResourceBundle.getBundle(this.baseName, locale), this.keys);
+            }
         } catch (Exception e) {
-            System.getLogger(this.getClass().getName()).log(System.Logger.Level.ERROR, "Missing translation for " + this.configuration.getLocale() + " : " + key, e);
-            return key;
+            System.getLogger(this.getClass().getName()).log(System.Logger.Level.ERROR, "Cannot load translation for " + locale, e);
+            table = TranslationTable.empty(locale);
+        } catch (Error e) {
+            // Fail the threads waiting for this table instead of blocking them, the next load tries again.
+            this.tables.remove(locale, future);
+            future.completeExceptionally(e);
+            throw e;
+        }
+        var time = Duration.ofNanos(System.nanoTime() - start);
+        this.loadingTimes.put(locale, time);
+        System.getLogger(this.getClass().getName()).log(System.Logger.Level.DEBUG, "Translation for {0} loaded in {1} ms", locale, time.toMillis());
+        future.complete(table);
+    }
+
+    private static CompiledTranslations openCompiled(Path file) {
+        if (Files.notExists(file)) {
+            return null;
+        }
+        try {
+            return CompiledTranslations.open(file);
+        } catch (IOException e) {
+            System.getLogger(BaseTranslation.class.getName()).log(System.Logger.Level.ERROR, "Cannot use compiled translation, using bundles", e);
+            return null;
+        }
+    }
+
+    /**
+     * Bounded pool shared by all translations loading in background, created on first use.
+     */
+    private static final class BackgroundLoader {
+
+        private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)),
+                r -> {
+                    var t = new Thread(r, "translation-loader");
+                    t.setDaemon(true);
+                    return t;
+                });
+
+        private BackgroundLoader() {
+            super();
+        }
+    }
+
+    /**
+     * Provide the keys requested but not found so far, reported only once per locale.
+     * @return An unmodifiable snapshot of the missing keys per locale, locales without missing keys are not present.
+     */
+    public final Map<Locale, Set<String>> getMissingKeys() {
+        var result = new HashMap<Locale, Set<String>>();
+        for (var future : this.tables.values()) {
+            var table = future.getNow(null);
+            if (table != null) {
+                var missing = table.getMissing();
+                if (!missing.isEmpty()) {
+                    result.put(table.getLocale(), missing);
+                }
+            }
+        }
+        return Map.copyOf(result);
+    }
+
+    private MessageTemplate missingTemplate(TranslationTable table, String key) {
+        this.missing(table, key);
+        return table.missingTemplate(key);
+    }
+
+    private String missing(TranslationTable table, String key) {
+        if (table.markMissing(key)) {
+            System.getLogger(this.getClass().getName()).log(System.Logger.Level.ERROR, "Missing translation for {0} : {1}", table.getLocale(), key);
         }
+        return key;
     }
 }
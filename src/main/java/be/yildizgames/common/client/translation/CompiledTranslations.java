@@ -0,0 +1,261 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.TreeSet;
+
+/**
+ * Binary translation file, containing the values of several locales, compiled at build time from the resource bundles.
+ * At runtime the file is memory mapped, nothing is parsed but the key names, and a value is only decoded when first requested.
+ *
+ * The layout, all integers being big endian, is:
+ * magic, version, key count, locale count,
+ * key count offsets of the key names,
+ * for each locale: offset of the language tag, then key count offsets of the values (-1 if missing),
+ * the string pool, each entry being its UTF-8 length followed by the bytes.
+ * Offsets are relative to the string pool start, identical strings are stored once.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class CompiledTranslations {
+
+    /**
+     * File extension for compiled translations.
+     */
+    public static final String EXTENSION = ".ytr";
+
+    private static final int MAGIC = 0x59545242;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int MISSING = -1;
+
+    private final ByteBuffer buffer;
+
+    private final String[] keyNames;
+
+    /**
+     * Position of the value offsets for each locale.
+     */
+    private final Map<Locale, Integer> sections;
+
+    private final int poolStart;
+
+    private CompiledTranslations(ByteBuffer buffer, String[] keyNames, Map<Locale, Integer> sections, int poolStart) {
+        super();
+        this.buffer = buffer;
+        this.keyNames = keyNames;
+        this.sections = sections;
+        this.poolStart = poolStart;
+    }
+
+    /**
+     * Compile resource bundles from the classpath.
+     * Arguments are the output file, the bundle base name, then the language tags of the locales to compile.
+     * @param args Output file, base name and language tags.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            throw new IllegalArgumentException("Usage: CompiledTranslations output baseName languageTag...");
+        }
+        var bundles = new LinkedHashMap<Locale, ResourceBundle>();
+        for (var i = 2; i < args.length; i++) {
+            var locale = Locale.forLanguageTag(args[i]);
+            bundles.put(locale, ResourceBundle.getBundle(args[1], locale));
+        }
+        write(bundles, Path.of(args[0]));
+    }
+
+    /**
+     * Compile bundles into a binary file.
+     * @param bundles Bundles to compile, by locale.
+     * @param output File to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Map<Locale, ResourceBundle> bundles, Path output) throws IOException {
+        var names = new TreeSet<String>();
+        for (var bundle : bundles.values()) {
+            names.addAll(bundle.keySet());
+        }
+        var keys = new ArrayList<>(names);
+        var pool = new Pool();
+        var keyOffsets = new int[keys.size()];
+        for (var i = 0; i < keys.size(); i++) {
+            keyOffsets[i] = pool.add(keys.get(i));
+        }
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(output)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(keys.size());
+            out.writeInt(bundles.size());
+            for (var offset : keyOffsets) {
+                out.writeInt(offset);
+            }
+            for (var entry : bundles.entrySet()) {
+                var bundle = entry.getValue();
+                out.writeInt(pool.add(entry.getKey().toLanguageTag()));
+                for (var key : keys) {
+                    out.writeInt(bundle.containsKey(key) ? pool.add(bundle.getString(key)) : MISSING);
+                }
+            }
+            pool.data.writeTo(out);
+        }
+    }
+
+    /**
+     * Map a compiled file, every count, offset and length is checked, so the values can later be decoded safely.
+     * @param file File to map.
+     * @return The compiled translations.
+     * @throws IOException If the file cannot be read or is not a valid compiled translation file.
+     */
+    static CompiledTranslations open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Invalid compiled translation file: " + file);
+        }
+        var keyCount = buffer.getInt(8);
+        var localeCount = buffer.getInt(12);
+        var poolStart = HEADER_SIZE + (long) keyCount * Integer.BYTES + localeCount * (1L + keyCount) * Integer.BYTES;
+        if (keyCount < 0 || localeCount < 0 || poolStart > buffer.limit()) {
+            throw new IOException("Corrupted compiled translation file, invalid counts: " + file);
+        }
+        var result = new CompiledTranslations(buffer, new String[keyCount], new HashMap<>(), (int) poolStart);
+        for (var i = 0; i < keyCount; i++) {
+            result.keyNames[i] = result.decode(result.checkString(buffer.getInt(HEADER_SIZE + i * Integer.BYTES), false, file));
+        }
+        var section = HEADER_SIZE + keyCount * Integer.BYTES;
+        for (var i = 0; i < localeCount; i++) {
+            var tag = result.decode(result.checkString(buffer.getInt(section), false, file));
+            for (var k = 0; k < keyCount; k++) {
+                result.checkString(buffer.getInt(section + (1 + k) * Integer.BYTES), true, file);
+            }
+            result.sections.put(Locale.forLanguageTag(tag), section + Integer.BYTES);
+            section += (1 + keyCount) * Integer.BYTES;
+        }
+        return result;
+    }
+
+    /**
+     * Check a string of the pool is entirely in the file.
+     * @param offset Offset in the pool.
+     * @param missingAllowed True if the offset can be the missing marker.
+     * @param file Mapped file, for the error message.
+     * @return The offset.
+     * @throws IOException If the offset or the string length is outside the file.
+     */
+    private int checkString(int offset, boolean missingAllowed, Path file) throws IOException {
+        if (offset == MISSING && missingAllowed) {
+            return offset;
+        }
+        var position = (long) this.poolStart + offset;
+        if (offset < 0 || position + Integer.BYTES > this.buffer.limit()) {
+            throw new IOException("Corrupted compiled translation file, invalid offset " + offset + ": " + file);
+        }
+        var length = this.buffer.getInt((int) position);
+        if (length < 0 || position + Integer.BYTES + length > this.buffer.limit()) {
+            throw new IOException("Corrupted compiled translation file, invalid length " + length + ": " + file);
+        }
+        return offset;
+    }
+
+    boolean contains(Locale locale) {
+        return this.sections.containsKey(locale);
+    }
+
+    /**
+     * Create a table for a locale, the values are decoded on first access.
+     * @param locale Locale of the table, must be contained in this file.
+     * @param keys Registry to assign the key indexes.
+     * @return The table.
+     */
+    TranslationTable table(Locale locale, TranslationKeys keys) {
+        int section = this.sections.get(locale);
+        synchronized (keys) {
+            var ids = new int[this.keyNames.length];
+            for (var i = 0; i < this.keyNames.length; i++) {
+                ids[i] = keys.register(this.keyNames[i]).getId();
+            }
+            var offsets = new int[keys.size()];
+            Arrays.fill(offsets, MISSING);
+            for (var i = 0; i < ids.length; i++) {
+                offsets[ids[i]] = this.buffer.getInt(section + i * Integer.BYTES);
+            }
+            return TranslationTable.mapped(locale, offsets, this);
+        }
+    }
+
+    /**
+     * Decode a string from the pool.
+     * @param offset Offset in the pool, checked when the file was opened.
+     * @return The decoded string, null if the offset is the missing marker.
+     */
+    String decode(int offset) {
+        if (offset == MISSING) {
+            return null;
+        }
+        var position = this.poolStart + offset;
+        var bytes = new byte[this.buffer.getInt(position)];
+        this.buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * String pool being written, storing each distinct string once.
+     */
+    private static final class Pool {
+
+        private final Map<String, Integer> offsets = new HashMap<>();
+
+        private final ByteArrayOutputStream data = new ByteArrayOutputStream();
+
+        private int add(String value) {
+            return this.offsets.computeIfAbsent(value, v -> {
+                var offset = this.data.size();
+                var bytes = v.getBytes(StandardCharsets.UTF_8);
+                var length = bytes.length;
+                this.data.write(length >>> 24);
+                this.data.write(length >>> 16);
+                this.data.write(length >>> 8);
+                this.data.write(length);
+                this.data.writeBytes(bytes);
+                return offset;
+            });
+        }
+    }
+}
@@ -0,0 +1,368 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import java.text.ChoiceFormat;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Message pattern parsed once, to be formatted many times.
+ * The syntax is the MessageFormat one, restricted to the elements {index}, {index,number}, {index,number,integer}
+ * and {index,choice,pattern}, the choice being used for plural forms: "{0,choice,0#no unit|1#one unit|1&lt;{0} units}".
+ * Integral values are appended to the target builder without intermediate objects,
+ * the other numbers and the dates are formatted with a format created once per thread.
+ * Instances are immutable and can be shared between threads.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class MessageTemplate {
+
+    private final Part[] parts;
+
+    private MessageTemplate(List<Part> parts) {
+        super();
+        this.parts = parts.toArray(new Part[0]);
+    }
+
+    /**
+     * Parse a pattern.
+     * @param pattern Pattern to parse.
+     * @param locale Locale used to format the numbers and dates.
+     * @return The compiled template.
+     * @throws IllegalArgumentException If the pattern is invalid.
+     */
+    public static MessageTemplate compile(String pattern, Locale locale) {
+        Objects.requireNonNull(pattern);
+        Objects.requireNonNull(locale);
+        var parts = new ArrayList<Part>();
+        var literal = new StringBuilder();
+        var quoted = false;
+        var i = 0;
+        while (i < pattern.length()) {
+            var c = pattern.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append(c);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (quoted || c != '{') {
+                literal.append(c);
+            } else {
+                var end = findClosingBrace(pattern, i);
+                if (literal.length() > 0) {
+                    parts.add(new Literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                parts.add(element(pattern.substring(i + 1, end), locale));
+                i = end;
+            }
+            i++;
+        }
+        if (literal.length() > 0) {
+            parts.add(new Literal(literal.toString()));
+        }
+        return new MessageTemplate(parts);
+    }
+
+    /**
+     * Create a template without any argument, the text is not parsed.
+     * @param text Text to return when formatting.
+     * @return The template.
+     */
+    public static MessageTemplate literal(String text) {
+        return new MessageTemplate(List.of(new Literal(Objects.requireNonNull(text))));
+    }
+
+    /**
+     * Format the template with a single integral argument, without boxing it.
+     * @param target Builder to append the result to.
+     * @param value Value of the argument 0.
+     * @return The target builder.
+     */
+    public StringBuilder appendTo(StringBuilder target, long value) {
+        for (var part : this.parts) {
+            part.append(target, value);
+        }
+        return target;
+    }
+
+    /**
+     * Format the template.
+     * @param target Builder to append the result to.
+     * @param args Arguments, an argument not provided is appended as {index}.
+     * @return The target builder.
+     */
+    public StringBuilder appendTo(StringBuilder target, Object... args) {
+        for (var part : this.parts) {
+            part.append(target, args);
+        }
+        return target;
+    }
+
+    /**
+     * Format the template in a new String.
+     * @param args Arguments.
+     * @return The formatted message.
+     */
+    public String format(Object... args) {
+        return this.appendTo(new StringBuilder(), args).toString();
+    }
+
+    private static int findClosingBrace(String pattern, int start) {
+        var depth = 0;
+        for (var i = start; i < pattern.length(); i++) {
+            var c = pattern.charAt(i);
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unmatched braces in the pattern: " + pattern);
+    }
+
+    private static Part element(String element, Locale locale) {
+        var segments = element.split(",", 3);
+        int index;
+        try {
+            index = Integer.parseInt(segments[0].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid argument index: " + element, e);
+        }
+        if (index < 0) {
+            throw new IllegalArgumentException("Invalid argument index: " + element);
+        }
+        if (segments.length == 1) {
+            return new Argument(index, locale, false);
+        }
+        var type = segments[1].trim();
+        var style = segments.length == 3 ? segments[2].trim() : "";
+        if ("number".equals(type) && (style.isEmpty() || "integer".equals(style))) {
+            return new Argument(index, locale, "integer".equals(style));
+        }
+        if ("choice".equals(type) && segments.length == 3) {
+            var choice = new ChoiceFormat(segments[2]);
+            var formats = choice.getFormats();
+            var options = new MessageTemplate[formats.length];
+            for (var f = 0; f < formats.length; f++) {
+                var option = String.valueOf(formats[f]);
+                options[f] = option.indexOf('{') >= 0 ? compile(option, locale) : literal(option);
+            }
+            return new Choice(index, choice.getLimits(), options);
+        }
+        throw new IllegalArgumentException("Unsupported format element: " + element);
+    }
+
+    private interface Part {
+
+        void append(StringBuilder target, long value);
+
+        void append(StringBuilder target, Object[] args);
+    }
+
+    private static final class Literal implements Part {
+
+        private final String text;
+
+        private Literal(String text) {
+            super();
+            this.text = text;
+        }
+
+        @Override
+        public void append(StringBuilder target, long value) {
+            target.append(this.text);
+        }
+
+        @Override
+        public void append(StringBuilder target, Object[] args) {
+            target.append(this.text);
+        }
+    }
+
+    private static final class Argument implements Part {
+
+        private final int index;
+
+        private final boolean integer;
+
+        /**
+         * Number format of each thread, cloned from the one of the template.
+         */
+        private final ThreadLocal<NumberFormat> numberFormat;
+
+        /**
+         * Date format of each thread, created on first use.
+         */
+        private final ThreadLocal<DateFormat> dateFormat;
+
+        /**
+         * True if integral values can be appended directly, with the affixes, digits and grouping of the number format.
+         */
+        private final boolean direct;
+
+        private final String positivePrefix;
+
+        private final String positiveSuffix;
+
+        private final String negativePrefix;
+
+        private final String negativeSuffix;
+
+        private final char zeroDigit;
+
+        private final char groupingSeparator;
+
+        private final int groupingSize;
+
+        private Argument(int index, Locale locale, boolean integer) {
+            super();
+            this.index = index;
+            this.integer = integer;
+            var format = integer ? NumberFormat.getIntegerInstance(locale) : NumberFormat.getInstance(locale);
+            this.numberFormat = ThreadLocal.withInitial(() -> (NumberFormat) format.clone());
+            this.dateFormat = ThreadLocal.withInitial(() -> DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale));
+            if (format instanceof DecimalFormat decimal && decimal.getMultiplier() == 1 && decimal.getMinimumIntegerDigits() <= 1) {
+                var symbols = decimal.getDecimalFormatSymbols();
+                this.direct = true;
+                this.positivePrefix = decimal.getPositivePrefix();
+                this.positiveSuffix = decimal.getPositiveSuffix();
+                this.negativePrefix = decimal.getNegativePrefix();
+                this.negativeSuffix = decimal.getNegativeSuffix();
+                this.zeroDigit = symbols.getZeroDigit();
+                this.groupingSeparator = symbols.getGroupingSeparator();
+                this.groupingSize = decimal.isGroupingUsed() ? decimal.getGroupingSize() : 0;
+            } else {
+                this.direct = false;
+                this.positivePrefix = "";
+                this.positiveSuffix = "";
+                this.negativePrefix = "";
+                this.negativeSuffix = "";
+                this.zeroDigit = '0';
+                this.groupingSeparator = ',';
+                this.groupingSize = 0;
+            }
+        }
+
+        @Override
+        public void append(StringBuilder target, long value) {
+            if (this.index == 0) {
+                this.appendIntegral(target, value);
+            } else {
+                target.append('{').append(this.index).append('}');
+            }
+        }
+
+        @Override
+        public void append(StringBuilder target, Object[] args) {
+            if (args == null || this.index >= args.length) {
+                target.append('{').append(this.index).append('}');
+                return;
+            }
+            var arg = args[this.index];
+            if (arg instanceof Integer || arg instanceof Long || arg instanceof Short || arg instanceof Byte) {
+                this.appendIntegral(target, ((Number) arg).longValue());
+            } else if (arg instanceof Number n) {
+                target.append(this.numberFormat.get().format(n));
+            } else if (arg instanceof Date d) {
+                target.append(this.dateFormat.get().format(d));
+            } else {
+                target.append(arg);
+            }
+        }
+
+        /**
+         * Append the affixes and the digits, then insert the grouping separators in place, as the number format would do for an integral value.
+         */
+        private void appendIntegral(StringBuilder target, long value) {
+            if (!this.direct || value == Long.MIN_VALUE) {
+                target.append(this.numberFormat.get().format(value));
+                return;
+            }
+            var negative = value < 0;
+            target.append(negative ? this.negativePrefix : this.positivePrefix);
+            var start = target.length();
+            target.append(negative ? -value : value);
+            if (this.zeroDigit != '0') {
+                for (var i = start; i < target.length(); i++) {
+                    target.setCharAt(i, (char) (target.charAt(i) - '0' + this.zeroDigit));
+                }
+            }
+            if (this.groupingSize > 0) {
+                for (var position = target.length() - this.groupingSize; position > start; position -= this.groupingSize) {
+                    target.insert(position, this.groupingSeparator);
+                }
+            }
+            target.append(negative ? this.negativeSuffix : this.positiveSuffix);
+        }
+    }
+
+    private static final class Choice implements Part {
+
+        private final int index;
+
+        private final double[] limits;
+
+        private final MessageTemplate[] options;
+
+        private Choice(int index, double[] limits, MessageTemplate[] options) {
+            super();
+            this.index = index;
+            this.limits = limits;
+            this.options = options;
+        }
+
+        @Override
+        public void append(StringBuilder target, long value) {
+            if (this.index == 0) {
+                this.select(value).appendTo(target, value);
+            } else {
+                target.append('{').append(this.index).append('}');
+            }
+        }
+
+        @Override
+        public void append(StringBuilder target, Object[] args) {
+            if (args == null || this.index >= args.length) {
+                target.append('{').append(this.index).append('}');
+            } else if (args[this.index] instanceof Number n) {
+                this.select(n.doubleValue()).appendTo(target, args);
+            } else {
+                throw new IllegalArgumentException("Choice argument must be a number: " + args[this.index]);
+            }
+        }
+
+        /**
+         * Same selection as ChoiceFormat: the last option whose limit is lower or equal to the value, the first if none.
+         */
+        private MessageTemplate select(double value) {
+            var selected = 0;
+            for (var i = 0; i < this.limits.length && this.limits[i] <= value; i++) {
+                selected = i;
+            }
+            return this.options[selected];
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import be.yildizgames.common.client.storage.SettingsListener;
+import be.yildizgames.common.client.storage.SettingsStore;
+import be.yildizgames.common.configuration.LanguageConfiguration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Language configuration reading the locale from the settings, so a language change applies without restarting.
+ * The locale is stored in the language setting, as a language tag.
+ * To apply a change to a BaseTranslation using resolved keys, call its refreshLocale() from a locale listener.
+ *
+ * @author Grégory Van den Borre
+ */
+public class SettingsLanguageConfiguration implements LanguageConfiguration {
+
+    /**
+     * Setting holding the language, the same one as the BaseConfiguration.
+     */
+    public static final String KEY = "language";
+
+    private final SettingsStore settings;
+
+    private final List<Locale> supported;
+
+    private final Locale defaultLocale;
+
+    /**
+     * Settings listener registered for each locale listener.
+     */
+    private final Map<Consumer<Locale>, SettingsListener> localeListeners = new ConcurrentHashMap<>();
+
+    private volatile Locale locale;
+
+    /**
+     * @param settings Settings holding the language.
+     * @param supported Supported locales.
+     * @param defaultLocale Locale used when the setting is not set or not supported.
+     */
+    public SettingsLanguageConfiguration(SettingsStore settings, List<Locale> supported, Locale defaultLocale) {
+        super();
+        this.settings = Objects.requireNonNull(settings);
+        this.supported = List.copyOf(supported);
+        this.defaultLocale = Objects.requireNonNull(defaultLocale);
+        this.locale = this.toLocale(settings.get(KEY, null));
+        settings.addListener((key, oldValue, newValue) -> {
+            if (KEY.equals(key)) {
+                this.locale = this.toLocale(newValue);
+            }
+        });
+    }
+
+    @Override
+    public final Locale getLocale() {
+        return this.locale;
+    }
+
+    @Override
+    public final List<Locale> getSupportedLocale() {
+        return this.supported;
+    }
+
+    /**
+     * Change the locale, the change is saved in background.
+     * @param locale New locale.
+     */
+    public final void setLocale(Locale locale) {
+        this.settings.set(KEY, locale.toLanguageTag());
+    }
+
+    /**
+     * Be notified when the locale changes, on the thread changing it.
+     * @param listener Listener receiving the new locale.
+     */
+    public final void addLocaleListener(Consumer<Locale> listener) {
+        Objects.requireNonNull(listener);
+        SettingsListener settingsListener = (key, oldValue, newValue) -> {
+            if (KEY.equals(key)) {
+                listener.accept(this.locale);
+            }
+        };
+        if (this.localeListeners.putIfAbsent(listener, settingsListener) == null) {
+            this.settings.addListener(settingsListener);
+        }
+    }
+
+    /**
+     * Stop notifying a listener of the locale changes.
+     * @param listener Listener added with addLocaleListener.
+     */
+    public final void removeLocaleListener(Consumer<Locale> listener) {
+        var settingsListener = this.localeListeners.remove(listener);
+        if (settingsListener != null) {
+            this.settings.removeListener(settingsListener);
+        }
+    }
+
+    private Locale toLocale(String value) {
+        if (value == null) {
+            return this.defaultLocale;
+        }
+        var result = Locale.forLanguageTag(value);
+        return this.supported.contains(result) ? result : this.defaultLocale;
+    }
+}
@@ -21,4 +21,13 @@ package be.yildizgames.common.client.translation;
 public interface TranslatableElement {
 
     void translate();
+
+    /**
+     * Resolve the translated values, this can be called outside of the UI thread.
+     * The default implementation resolves nothing and translates when the result is applied.
+     * @return The action applying the resolved values, run on the UI thread.
+     */
+    default Runnable prepareTranslation() {
+        return this::translate;
+    }
 }
@@ -15,10 +15,71 @@
  */
 package be.yildizgames.common.client.translation;
 
+import java.util.Locale;
+
 /**
  * @author Grégory Van den Borre
  */
 public interface Translation {
 
     String get(String key);
+
+    /**
+     * Resolve a key once, to look it up later without hashing.
+     * @param key Key name.
+     * @return The key handle, never null.
+     */
+    default TranslationKey key(String key) {
+        return TranslationKey.unresolved(key);
+    }
+
+    /**
+     * Retrieve the translation for a key previously resolved with key(String).
+     * @param key Key handle.
+     * @return The translated value, or the key name if no translation exists.
+     */
+    default String get(TranslationKey key) {
+        return this.get(key.getName());
+    }
+
+    /**
+     * Retrieve the translation for a key as a compiled message template.
+     * The default implementation compiles the template on every call with the default format locale,
+     * implementations should cache it per locale.
+     * @param key Key name.
+     * @return The template, never null.
+     */
+    default MessageTemplate template(String key) {
+        return MessageTemplate.compile(this.get(key), Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    /**
+     * Retrieve the translation for a key previously resolved with key(String) as a compiled message template.
+     * @param key Key handle.
+     * @return The template, never null.
+     */
+    default MessageTemplate template(TranslationKey key) {
+        return this.template(key.getName());
+    }
+
+    /**
+     * Format the translation for a key with the given arguments.
+     * @param key Key name.
+     * @param args Arguments to format.
+     * @return The formatted translation.
+     */
+    default String format(String key, Object... args) {
+        return this.template(key).format(args);
+    }
+
+    /**
+     * Format the translation for a key, appending it to a builder.
+     * @param target Builder to append to.
+     * @param key Key handle.
+     * @param args Arguments to format.
+     * @return The target builder.
+     */
+    default StringBuilder format(StringBuilder target, TranslationKey key, Object... args) {
+        return this.template(key).appendTo(target, args);
+    }
 }
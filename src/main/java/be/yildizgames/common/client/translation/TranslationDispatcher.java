@@ -0,0 +1,217 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import javax.swing.SwingUtilities;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-translate all registered elements when the language changes.
+ * Elements are only weakly referenced, registering an element does not prevent it to be garbage collected.
+ * The values are resolved on a background executor with TranslatableElement.prepareTranslation(), after the before resolve hook,
+ * usually BaseTranslation.refreshLocale() so key handles resolve against the new locale, then applied on the UI
+ * thread in time-sliced batches, so the UI stays responsive and the layout is done once per batch.
+ * Starting a new translation cancels the one still running.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class TranslationDispatcher {
+
+    private static final Duration DEFAULT_SLICE = Duration.ofMillis(8);
+
+    private final Set<TranslatableElement> elements = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Executor background;
+
+    private final Executor ui;
+
+    private final long sliceNanos;
+
+    private final Runnable beforeResolve;
+
+    /**
+     * @param background Executor to resolve the translations.
+     * @param ui Executor running the tasks on the UI thread.
+     * @param slice Maximum time spent on the UI thread by a batch.
+     */
+    public TranslationDispatcher(Executor background, Executor ui, Duration slice) {
+        this(background, ui, slice, () -> {});
+    }
+
+    /**
+     * @param background Executor to resolve the translations.
+     * @param ui Executor running the tasks on the UI thread.
+     * @param slice Maximum time spent on the UI thread by a batch.
+     * @param beforeResolve Run on the background executor before resolving the values, like BaseTranslation.refreshLocale().
+     */
+    public TranslationDispatcher(Executor background, Executor ui, Duration slice, Runnable beforeResolve) {
+        super();
+        this.background = Objects.requireNonNull(background);
+        this.ui = Objects.requireNonNull(ui);
+        this.sliceNanos = slice.toNanos();
+        this.beforeResolve = Objects.requireNonNull(beforeResolve);
+    }
+
+    /**
+     * Create a dispatcher refreshing the translation locale, resolving on the common pool and applying on the Swing event dispatch thread.
+     * @param translation Translation whose locale is refreshed before resolving the values.
+     * @return The created dispatcher.
+     */
+    public static TranslationDispatcher swing(BaseTranslation translation) {
+        return new TranslationDispatcher(ForkJoinPool.commonPool(), SwingUtilities::invokeLater, DEFAULT_SLICE, translation::refreshLocale);
+    }
+
+    public void register(TranslatableElement element) {
+        Objects.requireNonNull(element);
+        synchronized (this.elements) {
+            this.elements.add(element);
+        }
+    }
+
+    public void unregister(TranslatableElement element) {
+        synchronized (this.elements) {
+            this.elements.remove(element);
+        }
+    }
+
+    /**
+     * @return The number of registered elements still alive.
+     */
+    public int size() {
+        synchronized (this.elements) {
+            return this.elements.size();
+        }
+    }
+
+    /**
+     * Translate all the registered elements.
+     * @return A future completed when all elements are translated, cancelled if another translation started before,
+     * failed if an error occurred or an executor rejected the translation.
+     */
+    public CompletableFuture<Void> translateAll() {
+        var current = this.generation.incrementAndGet();
+        List<TranslatableElement> snapshot;
+        synchronized (this.elements) {
+            snapshot = new ArrayList<>(this.elements);
+        }
+        var result = new CompletableFuture<Void>();
+        try {
+            this.background.execute(() -> {
+                try {
+                    this.resolve(snapshot, current, result);
+                } catch (Throwable e) {
+                    // Errors too, the future would never complete otherwise.
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    /**
+     * Resolve the values of the elements on the background executor, then apply them on the UI thread.
+     */
+    private void resolve(List<TranslatableElement> snapshot, long current, CompletableFuture<Void> result) {
+        try {
+            this.beforeResolve.run();
+        } catch (Exception e) {
+            System.getLogger(TranslationDispatcher.class.getName()).log(System.Logger.Level.ERROR, "Cannot prepare translation", e);
+        }
+        var actions = new ArrayList<Runnable>(snapshot.size());
+        for (var element : snapshot) {
+            if (this.generation.get() != current) {
+                result.cancel(false);
+                return;
+            }
+            try {
+                actions.add(element.prepareTranslation());
+            } catch (Exception e) {
+                System.getLogger(TranslationDispatcher.class.getName()).log(System.Logger.Level.ERROR, "Cannot translate element", e);
+            }
+        }
+        this.ui.execute(new Batch(actions, current, result));
+    }
+
+    /**
+     * Apply the resolved translations until the time slice is consumed, then reschedule itself for the remaining ones.
+     * Swing coalesces the revalidation requested during a batch in a single layout pass.
+     */
+    private final class Batch implements Runnable {
+
+        private final List<Runnable> actions;
+
+        private final long generation;
+
+        private final CompletableFuture<Void> result;
+
+        private int index;
+
+        private Batch(List<Runnable> actions, long generation, CompletableFuture<Void> result) {
+            super();
+            this.actions = actions;
+            this.generation = generation;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.apply();
+            } catch (Throwable e) {
+                this.result.completeExceptionally(e);
+            }
+        }
+
+        private void apply() {
+            if (TranslationDispatcher.this.generation.get() != this.generation) {
+                this.result.cancel(false);
+                return;
+            }
+            var start = System.nanoTime();
+            while (this.index < this.actions.size()) {
+                try {
+                    this.actions.get(this.index).run();
+                } catch (Exception e) {
+                    System.getLogger(TranslationDispatcher.class.getName()).log(System.Logger.Level.ERROR, "Cannot translate element", e);
+                }
+                this.index++;
+                if (System.nanoTime() - start >= TranslationDispatcher.this.sliceNanos) {
+                    break;
+                }
+            }
+            if (this.index < this.actions.size()) {
+                TranslationDispatcher.this.ui.execute(this);
+            } else {
+                this.result.complete(null);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import java.util.Objects;
+
+/**
+ * Handle on a translation key, resolved once to an index in the translation tables.
+ * Looking up a value through a key avoids any hashing on the hot path.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class TranslationKey {
+
+    /**
+     * Index used for keys not bound to any translation table.
+     */
+    static final int UNRESOLVED = -1;
+
+    private final String name;
+
+    private final int id;
+
+    /**
+     * Registry which assigned the index, null for unresolved keys.
+     */
+    private final TranslationKeys registry;
+
+    TranslationKey(String name, int id, TranslationKeys registry) {
+        super();
+        this.name = Objects.requireNonNull(name);
+        this.id = id;
+        this.registry = registry;
+    }
+
+    /**
+     * Create a key that is not bound to any table, it will be looked up by its name.
+     * @param name Key name.
+     * @return The unresolved key.
+     */
+    static TranslationKey unresolved(String name) {
+        return new TranslationKey(name, UNRESOLVED, null);
+    }
+
+    /**
+     * @return The key as found in the translation bundles.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    final int getId() {
+        return this.id;
+    }
+
+    /**
+     * @param registry Registry to check.
+     * @return True if the index was assigned by this registry, so it can be used in its tables.
+     */
+    final boolean isFrom(TranslationKeys registry) {
+        return this.registry == registry;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
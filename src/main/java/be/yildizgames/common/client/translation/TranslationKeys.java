@@ -0,0 +1,64 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry assigning a stable index to every translation key.
+ * Indexes are only appended, so a table compiled earlier stays valid when new keys are registered.
+ *
+ * @author Grégory Van den Borre
+ */
+final class TranslationKeys {
+
+    private final Map<String, TranslationKey> keys = new ConcurrentHashMap<>();
+
+    private int size;
+
+    TranslationKeys() {
+        super();
+    }
+
+    /**
+     * Retrieve the key for a name, registering it if it does not exist yet.
+     * @param name Key name.
+     * @return The key, never null.
+     */
+    TranslationKey register(String name) {
+        var key = this.keys.get(name);
+        if (key != null) {
+            return key;
+        }
+        synchronized (this) {
+            return this.keys.computeIfAbsent(name, n -> new TranslationKey(n.intern(), this.size++, this));
+        }
+    }
+
+    /**
+     * Retrieve the key for a name, without registering it.
+     * @param name Key name.
+     * @return The key, or null if no such key is registered.
+     */
+    TranslationKey find(String name) {
+        return this.keys.get(name);
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+}
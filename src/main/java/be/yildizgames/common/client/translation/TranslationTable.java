@@ -0,0 +1,168 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compiled translation values for a locale, stored in a flat array indexed by the key ids.
+ * When created from a compiled translation file, the values are decoded from the file on first access.
+ *
+ * @author Grégory Van den Borre
+ */
+final class TranslationTable {
+
+    private final Locale locale;
+
+    private final String[] values;
+
+    /**
+     * Keys requested but not found for this locale.
+     */
+    private final Set<String> missing = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Templates compiled on first use, indexed like the values.
+     * Templates are immutable, so a race only compiles the same template twice.
+     */
+    private final MessageTemplate[] templates;
+
+    private final Map<String, MessageTemplate> missingTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Offsets of the values in the compiled file, null if the values are not mapped.
+     */
+    private final int[] offsets;
+
+    private final CompiledTranslations source;
+
+    private TranslationTable(Locale locale, String[] values, int[] offsets, CompiledTranslations source) {
+        super();
+        this.locale = locale;
+        this.values = values;
+        this.templates = new MessageTemplate[values.length];
+        this.offsets = offsets;
+        this.source = source;
+    }
+
+    /**
+     * Compile a resource bundle into a table, every key of the bundle is registered.
+     * @param locale Locale of the bundle.
+     * @param bundle Bundle to compile.
+     * @param keys Registry to assign the key indexes.
+     * @return The compiled table.
+     */
+    static TranslationTable compile(Locale locale, ResourceBundle bundle, TranslationKeys keys) {
+        synchronized (keys) {
+            var names = bundle.keySet();
+            for (var name : names) {
+                keys.register(name);
+            }
+            var values = new String[keys.size()];
+            for (var name : names) {
+                values[keys.find(name).getId()] = bundle.getString(name);
+            }
+            return new TranslationTable(locale, values, null, null);
+        }
+    }
+
+    /**
+     * Create a table without any value.
+     * @param locale Locale of the table.
+     * @return The empty table.
+     */
+    static TranslationTable empty(Locale locale) {
+        return new TranslationTable(locale, new String[0], null, null);
+    }
+
+    /**
+     * Create a table decoding its values from a compiled file.
+     * @param locale Locale of the table.
+     * @param offsets Offsets of the values in the file, indexed by key id.
+     * @param source Compiled file.
+     * @return The mapped table.
+     */
+    static TranslationTable mapped(Locale locale, int[] offsets, CompiledTranslations source) {
+        return new TranslationTable(locale, new String[offsets.length], offsets, source);
+    }
+
+    /**
+     * @param id Key index.
+     * @return The translated value, or null if it does not exist for this locale.
+     */
+    String get(int id) {
+        if (id < 0 || id >= this.values.length) {
+            return null;
+        }
+        var value = this.values[id];
+        if (value == null && this.source != null) {
+            value = this.source.decode(this.offsets[id]);
+            this.values[id] = value;
+        }
+        return value;
+    }
+
+    /**
+     * @param id Key index.
+     * @return The compiled template, or null if no value exists for this locale.
+     */
+    MessageTemplate template(int id) {
+        var value = this.get(id);
+        if (value == null) {
+            return null;
+        }
+        var template = this.templates[id];
+        if (template == null) {
+            try {
+                template = MessageTemplate.compile(value, this.locale);
+            } catch (IllegalArgumentException e) {
+                System.getLogger(TranslationTable.class.getName()).log(System.Logger.Level.ERROR, "Invalid message pattern for {0} : {1}", this.locale, value);
+                template = MessageTemplate.literal(value);
+            }
+            this.templates[id] = template;
+        }
+        return template;
+    }
+
+    /**
+     * @param key Missing key.
+     * @return A template returning the key, cached.
+     */
+    MessageTemplate missingTemplate(String key) {
+        return this.missingTemplates.computeIfAbsent(key, MessageTemplate::literal);
+    }
+
+    /**
+     * Remember a key as missing in this table.
+     * @param key Missing key.
+     * @return True if the key was not already known as missing.
+     */
+    boolean markMissing(String key) {
+        return this.missing.add(key);
+    }
+
+    Set<String> getMissing() {
+        return Set.copyOf(this.missing);
+    }
+
+    Locale getLocale() {
+        return this.locale;
+    }
+}
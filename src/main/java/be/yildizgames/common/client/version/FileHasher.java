@@ -0,0 +1,396 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Compute the hash of a file, as an upper case hexadecimal string.
+ * The file is read through a file channel with a large direct buffer.
+ * In chunked mode, the file is split in chunks hashed in parallel, the result is the hash of the concatenated chunk hashes,
+ * it is then different from the hash of the whole file and must be computed the same way on the server.
+ * With a cache, the hash of a file whose size and modification time did not change is not computed again.
+ * Instances are immutable and thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class FileHasher {
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    private final String algorithm;
+
+    /**
+     * Chunk size, 0 to hash the file sequentially.
+     */
+    private final int chunkSize;
+
+    private final Executor executor;
+
+    private final HashCache cache;
+
+    private FileHasher(String algorithm, int chunkSize, Executor executor, HashCache cache) {
+        super();
+        this.algorithm = algorithm;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+        this.cache = cache;
+    }
+
+    /**
+     * Create a sequential hasher, compatible with the sha1sum tool.
+     * @return The hasher.
+     */
+    public static FileHasher sha1() {
+        return of("SHA-1");
+    }
+
+    /**
+     * Create a sequential hasher, compatible with the sha256sum tool.
+     * @return The hasher.
+     */
+    public static FileHasher sha256() {
+        return of("SHA-256");
+    }
+
+    /**
+     * Create a sequential hasher.
+     * @param algorithm MessageDigest algorithm name.
+     * @return The hasher.
+     * @throws IllegalArgumentException If the algorithm is not available.
+     */
+    public static FileHasher of(String algorithm) {
+        newDigest(algorithm);
+        return new FileHasher(algorithm, 0, null, null);
+    }
+
+    /**
+     * Hash the files in chunks of 8MB in parallel on the common pool.
+     * @return A copy of this hasher, in chunked mode.
+     */
+    public FileHasher chunked() {
+        return this.chunked(DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Hash the files in chunks in parallel.
+     * @param chunkSize Size of a chunk, in bytes.
+     * @param executor Executor hashing the chunks.
+     * @return A copy of this hasher, in chunked mode.
+     */
+    public FileHasher chunked(int chunkSize, Executor executor) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive.");
+        }
+        return new FileHasher(this.algorithm, chunkSize, Objects.requireNonNull(executor), this.cache);
+    }
+
+    /**
+     * Keep the computed hashes in a cache file, keyed by file path, size and modification time.
+     * The cache is loaded now and shared by the copies of the returned hasher, it is saved by hash(Path), saveCache() and the manifest creation.
+     * @param cacheFile File storing the cache, created if it does not exist.
+     * @return A copy of this hasher, using the cache.
+     */
+    public FileHasher cached(Path cacheFile) {
+        return new FileHasher(this.algorithm, this.chunkSize, this.executor, HashCache.load(cacheFile));
+    }
+
+    /**
+     * @return A copy of this hasher, always computing the hashes.
+     */
+    public FileHasher withoutCache() {
+        return new FileHasher(this.algorithm, this.chunkSize, this.executor, null);
+    }
+
+    /**
+     * @return The MessageDigest algorithm name.
+     */
+    public String getAlgorithm() {
+        return this.algorithm;
+    }
+
+    /**
+     * @return The identifier of the hashing scheme, two hashers with the same identifier produce the same hashes.
+     */
+    public String getId() {
+        return this.chunkSize == 0 ? this.algorithm : this.algorithm + "/" + this.chunkSize;
+    }
+
+    /**
+     * Compute the hash of each block of a file, the blocks are hashed in parallel, and never cached.
+     * @param file File to hash.
+     * @param blockSize Size of a block, in bytes.
+     * @return The hash of each block, as upper case hexadecimal, empty for an empty file.
+     * @throws IOException If the file cannot be read.
+     */
+    public List<String> hashBlocks(Path file, int blockSize) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        var executor = this.executor == null ? ForkJoinPool.commonPool() : this.executor;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var size = channel.size();
+            var blocks = new ArrayList<CompletableFuture<byte[]>>();
+            for (long position = 0; position < size; position += blockSize) {
+                var start = position;
+                var length = (int) Math.min(blockSize, size - position);
+                blocks.add(CompletableFuture.supplyAsync(() -> this.hashChunk(channel, start, length, HashProgress.NONE), executor));
+            }
+            var result = new ArrayList<String>(blocks.size());
+            for (var block : blocks) {
+                result.add(toHex(block.join()));
+            }
+            return result;
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof CancellationException c) {
+                throw c;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Compute the hash of a file, or retrieve it from the cache, the cache is saved if the hash was computed.
+     * To hash many files, hash them with a manifest, it saves the cache once.
+     * @param file File to hash.
+     * @return The hash, as upper case hexadecimal.
+     * @throws IOException If the file cannot be read.
+     */
+    public String hash(Path file) throws IOException {
+        var result = this.hash(file, HashProgress.NONE);
+        this.saveCache();
+        return result;
+    }
+
+    /**
+     * Save the cache, if this hasher uses one and hashes were computed since the last save.
+     */
+    public void saveCache() {
+        if (this.cache != null) {
+            this.cache.save();
+        }
+    }
+
+    /**
+     * Compute the hash of a file, or retrieve it from the cache, reporting the progress, the cache is not saved.
+     * @param file File to hash.
+     * @param progress Progress to update, also used to cancel the computation.
+     * @return The hash, as upper case hexadecimal.
+     * @throws IOException If the file cannot be read.
+     * @throws CancellationException If the progress was cancelled.
+     */
+    String hash(Path file, HashProgress progress) throws IOException {
+        var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        var size = attributes.size();
+        var modified = attributes.lastModifiedTime().toMillis();
+        var id = this.getId();
+        if (this.cache != null) {
+            var cached = this.cache.find(file, id, size, modified);
+            if (cached != null) {
+                progress.add(size);
+                return cached;
+            }
+        }
+        var result = toHex(this.chunkSize == 0 || size <= this.chunkSize ? this.hashSequential(file, size, progress) : this.hashChunked(file, size, progress));
+        if (this.cache != null) {
+            this.cache.put(file, id, size, modified, result);
+        }
+        return result;
+    }
+
+    /**
+     * Compute the hash of a file, or retrieve it from the cache, and the hash of each of its blocks, reading the file once.
+     * The hashes are the same as the ones from hash() and hashBlocks(), the cache is not saved.
+     * @param file File to hash.
+     * @param blockSize Size of a block, in bytes.
+     * @param blocks List receiving the hash of each block.
+     * @return The file hash, as upper case hexadecimal.
+     * @throws IOException If the file cannot be read.
+     */
+    String hash(Path file, int blockSize, List<String> blocks) throws IOException {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive.");
+        }
+        var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        var size = attributes.size();
+        var modified = attributes.lastModifiedTime().toMillis();
+        var id = this.getId();
+        var cached = this.cache == null ? null : this.cache.find(file, id, size, modified);
+        var chunked = cached == null && this.chunkSize > 0 && size > this.chunkSize;
+        var fileDigest = cached == null ? newDigest(this.algorithm) : null;
+        var chunkDigest = chunked ? newDigest(this.algorithm) : null;
+        var blockDigest = newDigest(this.algorithm);
+        var buffer = size < BUFFER_SIZE ? ByteBuffer.allocate((int) Math.max(1, size)) : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        long blockRemaining = blockSize;
+        long chunkRemaining = this.chunkSize;
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    // Slice at the block and chunk boundaries, so each slice belongs to one block and one chunk.
+                    var length = (int) Math.min(buffer.remaining(), chunked ? Math.min(blockRemaining, chunkRemaining) : blockRemaining);
+                    var limit = buffer.limit();
+                    buffer.limit(buffer.position() + length);
+                    blockDigest.update(buffer.slice());
+                    if (chunked) {
+                        chunkDigest.update(buffer.slice());
+                    } else if (fileDigest != null) {
+                        fileDigest.update(buffer.slice());
+                    }
+                    buffer.position(buffer.limit());
+                    buffer.limit(limit);
+                    blockRemaining -= length;
+                    if (blockRemaining == 0) {
+                        blocks.add(toHex(blockDigest.digest()));
+                        blockRemaining = blockSize;
+                    }
+                    if (chunked) {
+                        chunkRemaining -= length;
+                        if (chunkRemaining == 0) {
+                            fileDigest.update(chunkDigest.digest());
+                            chunkRemaining = this.chunkSize;
+                        }
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        if (blockRemaining < blockSize) {
+            blocks.add(toHex(blockDigest.digest()));
+        }
+        if (chunked && chunkRemaining < this.chunkSize) {
+            fileDigest.update(chunkDigest.digest());
+        }
+        if (cached != null) {
+            return cached;
+        }
+        var result = toHex(fileDigest.digest());
+        if (this.cache != null) {
+            this.cache.put(file, id, size, modified, result);
+        }
+        return result;
+    }
+
+    /**
+     * Encode bytes as upper case hexadecimal.
+     * @param data Bytes to encode.
+     * @return The encoded value.
+     */
+    static String toHex(byte[] data) {
+        var builder = new StringBuilder(data.length * 2);
+        for (byte b : data) {
+            builder.append(HEX[b >> 4 & 15]);
+            builder.append(HEX[b & 15]);
+        }
+        return builder.toString();
+    }
+
+    private byte[] hashSequential(Path file, long size, HashProgress progress) throws IOException {
+        var digest = newDigest(this.algorithm);
+        // Allocating a direct buffer costs more than hashing a small file, those are read in a heap buffer of their size.
+        var buffer = size < BUFFER_SIZE ? ByteBuffer.allocate((int) Math.max(1, size)) : ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int read;
+            while ((read = channel.read(buffer)) != -1) {
+                progress.add(read);
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return digest.digest();
+    }
+
+    private byte[] hashChunked(Path file, long size, HashProgress progress) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            var chunks = new ArrayList<CompletableFuture<byte[]>>();
+            for (long position = 0; position < size; position += this.chunkSize) {
+                var start = position;
+                var length = (int) Math.min(this.chunkSize, size - position);
+                chunks.add(CompletableFuture.supplyAsync(() -> this.hashChunk(channel, start, length, progress), this.executor));
+            }
+            var digest = newDigest(this.algorithm);
+            for (var chunk : chunks) {
+                digest.update(chunk.join());
+            }
+            return digest.digest();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            if (e.getCause() instanceof CancellationException c) {
+                throw c;
+            }
+            throw e;
+        }
+    }
+
+    private byte[] hashChunk(FileChannel channel, long start, int length, HashProgress progress) {
+        var digest = newDigest(this.algorithm);
+        var buffer = ByteBuffer.allocateDirect(Math.min(BUFFER_SIZE, length));
+        try {
+            var position = start;
+            var end = start + length;
+            while (position < end) {
+                buffer.limit((int) Math.min(buffer.capacity(), end - position));
+                var read = channel.read(buffer, position);
+                if (read == -1) {
+                    throw new IOException("Unexpected end of file.");
+                }
+                position += read;
+                progress.add(read);
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest newDigest(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException("Unsupported hash algorithm: " + algorithm, e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import be.yildizgames.common.client.storage.AtomicFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Persistent cache of file hashes, an entry is valid as long as the file size and modification time did not change.
+ * The cache is stored as a properties file, replaced atomically when saved.
+ * Entries are only kept in memory until save() is called, the hasher owning the cache saves it after hashing.
+ *
+ * @author Grégory Van den Borre
+ */
+final class HashCache {
+
+    private final Path file;
+
+    private final Properties entries = new Properties();
+
+    private boolean dirty;
+
+    private HashCache(Path file) {
+        super();
+        this.file = file;
+        if (Files.isRegularFile(file)) {
+            try (var reader = Files.newBufferedReader(file)) {
+                this.entries.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                System.getLogger(HashCache.class.getName()).log(System.Logger.Level.WARNING, "Ignoring invalid hash cache " + file, e);
+                this.entries.clear();
+            }
+        }
+    }
+
+    /**
+     * Load a cache, an invalid or missing file gives an empty cache.
+     * @param file Cache file.
+     * @return The loaded cache.
+     */
+    static HashCache load(Path file) {
+        return new HashCache(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * @return The cached hash, or null if not cached or if the file changed.
+     */
+    String find(Path hashed, String algorithm, long size, long modified) {
+        var value = this.entries.getProperty(key(hashed, algorithm));
+        if (value == null) {
+            return null;
+        }
+        var parts = value.split(":", 3);
+        if (parts.length == 3 && parts[0].equals(Long.toString(size)) && parts[1].equals(Long.toString(modified))) {
+            return parts[2];
+        }
+        return null;
+    }
+
+    synchronized void put(Path hashed, String algorithm, long size, long modified, String hash) {
+        this.entries.setProperty(key(hashed, algorithm), size + ":" + modified + ":" + hash);
+        this.dirty = true;
+    }
+
+    /**
+     * Write the cache file if entries were added since the last save.
+     */
+    synchronized void save() {
+        if (!this.dirty) {
+            return;
+        }
+        try {
+            AtomicFile.write(this.file, temp -> {
+                try (var writer = Files.newBufferedWriter(temp)) {
+                    this.entries.store(writer, null);
+                }
+            });
+            this.dirty = false;
+        } catch (IOException e) {
+            System.getLogger(HashCache.class.getName()).log(System.Logger.Level.WARNING, "Cannot save hash cache " + this.file, e);
+        }
+    }
+
+    private static String key(Path hashed, String algorithm) {
+        return hashed.toAbsolutePath().normalize() + "|" + algorithm;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Progress of a hash computation, shared by the threads hashing the chunks.
+ *
+ * @author Grégory Van den Borre
+ */
+final class HashProgress {
+
+    /**
+     * Progress not reported and never cancelled.
+     */
+    static final HashProgress NONE = new HashProgress(0, (p, t) -> {}, () -> false);
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final long total;
+
+    private final HashProgressListener listener;
+
+    private final BooleanSupplier cancelled;
+
+    HashProgress(long total, HashProgressListener listener, BooleanSupplier cancelled) {
+        super();
+        this.total = total;
+        this.listener = listener;
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Add hashed bytes and notify the listener.
+     * @param bytes Number of bytes hashed.
+     * @throws CancellationException If the computation was cancelled.
+     */
+    void add(long bytes) {
+        if (this.cancelled.getAsBoolean()) {
+            throw new CancellationException("Hash computation cancelled.");
+        }
+        if (this != NONE) {
+            this.listener.progress(this.processed.addAndGet(bytes), this.total);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Difference between a local manifest and a remote one.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ManifestDiff {
+
+    private final Set<String> changed;
+
+    private final Set<String> removed;
+
+    private final Map<String, List<Integer>> changedBlocks;
+
+    ManifestDiff(Set<String> changed, Set<String> removed, Map<String, List<Integer>> changedBlocks) {
+        super();
+        this.changed = Set.copyOf(changed);
+        this.removed = Set.copyOf(removed);
+        this.changedBlocks = Map.copyOf(changedBlocks);
+    }
+
+    /**
+     * @return The files to download: added or modified in the remote manifest.
+     */
+    public Set<String> getChanged() {
+        return this.changed;
+    }
+
+    /**
+     * @return The local files no longer present in the remote manifest.
+     */
+    public Set<String> getRemoved() {
+        return this.removed;
+    }
+
+    /**
+     * Provide the indexes of the blocks to download for a changed file.
+     * @param path Changed file.
+     * @return The index of each changed block, empty if the whole file must be downloaded.
+     */
+    public List<Integer> getChangedBlocks(String path) {
+        return this.changedBlocks.getOrDefault(path, List.of());
+    }
+
+    /**
+     * @return True if no file changed nor was removed.
+     */
+    public boolean isUpToDate() {
+        return this.changed.isEmpty() && this.removed.isEmpty();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * State of a file in a version manifest.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ManifestEntry {
+
+    private final String path;
+
+    private final long size;
+
+    private final long modified;
+
+    private final String hash;
+
+    private final List<String> blocks;
+
+    ManifestEntry(String path, long size, long modified, String hash, List<String> blocks) {
+        super();
+        this.path = Objects.requireNonNull(path);
+        this.size = size;
+        this.modified = modified;
+        this.hash = Objects.requireNonNull(hash);
+        this.blocks = List.copyOf(blocks);
+    }
+
+    /**
+     * @return The path relative to the manifest root, using / as separator.
+     */
+    public String getPath() {
+        return this.path;
+    }
+
+    public long getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return The last modification time, in milliseconds since epoch.
+     */
+    public long getModified() {
+        return this.modified;
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    /**
+     * @return The hash of each block, empty if the file was not hashed per block.
+     */
+    public List<String> getBlocks() {
+        return this.blocks;
+    }
+}
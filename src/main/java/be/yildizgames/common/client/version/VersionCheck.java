@@ -0,0 +1,150 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Compute and compare the application version in background, so the check can run along the other startup tasks.
+ * Cancelling a returned future stops the hash computation.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class VersionCheck {
+
+    private static final HashProgressListener NO_PROGRESS = (p, t) -> {};
+
+    private final Path application;
+
+    private final FileHasher hasher;
+
+    private final Executor executor;
+
+    private final HashProgressListener listener;
+
+    private VersionCheck(Path application, FileHasher hasher, Executor executor, HashProgressListener listener) {
+        super();
+        this.application = Objects.requireNonNull(application);
+        this.hasher = Objects.requireNonNull(hasher);
+        this.executor = Objects.requireNonNull(executor);
+        this.listener = Objects.requireNonNull(listener);
+    }
+
+    /**
+     * Check the jar containing this library, as VersionFile does.
+     * @param hasher Hasher to use.
+     * @return The version check, running on a dedicated daemon thread.
+     */
+    public static VersionCheck application(FileHasher hasher) {
+        return of(VersionFile.applicationPath(), hasher);
+    }
+
+    /**
+     * Check a file.
+     * @param application File to check.
+     * @param hasher Hasher to use.
+     * @return The version check, running on a dedicated daemon thread.
+     */
+    public static VersionCheck of(Path application, FileHasher hasher) {
+        return new VersionCheck(application, hasher, VersionCheck::startDaemon, NO_PROGRESS);
+    }
+
+    /**
+     * @param executor Executor running the check, a virtual thread per task executor is a good fit.
+     * @return A copy of this check, running on the executor.
+     */
+    public VersionCheck withExecutor(Executor executor) {
+        return new VersionCheck(this.application, this.hasher, executor, this.listener);
+    }
+
+    /**
+     * @param listener Listener notified of the hashed bytes.
+     * @return A copy of this check, reporting its progress to the listener.
+     */
+    public VersionCheck withProgress(HashProgressListener listener) {
+        return new VersionCheck(this.application, this.hasher, this.executor, listener);
+    }
+
+    /**
+     * Compute the application hash.
+     * @return A future completed with the hash.
+     */
+    public CompletableFuture<String> computeHash() {
+        return this.run(hash -> hash);
+    }
+
+    /**
+     * Compute the application hash and write it in a file, replaced atomically.
+     * @param file Version file to write.
+     * @return A future completed with the hash once the file is written.
+     */
+    public CompletableFuture<String> writeVersionFile(Path file) {
+        return this.run(hash -> {
+            VersionFile.write(file, hash);
+            return hash;
+        });
+    }
+
+    /**
+     * Compute the application hash and compare it with the content of a version file, typically downloaded from the server.
+     * @param expected Version file containing the expected hash.
+     * @return A future completed with true if the hashes match.
+     */
+    public CompletableFuture<Boolean> isUpToDate(Path expected) {
+        return this.run(hash -> hash.equalsIgnoreCase(Files.readString(expected).trim()));
+    }
+
+    private <T> CompletableFuture<T> run(HashTask<T> task) {
+        var result = new CompletableFuture<T>();
+        try {
+            this.executor.execute(() -> {
+                try {
+                    var progress = new HashProgress(Files.size(this.application), this.listener, result::isDone);
+                    var hash = this.hasher.hash(this.application, progress);
+                    this.hasher.saveCache();
+                    result.complete(task.apply(hash));
+                } catch (CancellationException e) {
+                    result.cancel(false);
+                } catch (Throwable e) {
+                    // Errors too, like a failed buffer allocation, the future would never complete otherwise.
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    private static void startDaemon(Runnable task) {
+        var thread = new Thread(task, "version-check");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @FunctionalInterface
+    private interface HashTask<T> {
+
+        T apply(String hash) throws IOException;
+    }
+}
@@ -16,18 +16,16 @@
 
 package be.yildizgames.common.client.version;
 
-import java.io.File;
-import java.io.FileInputStream;
+import be.yildizgames.common.client.storage.AtomicFile;
+
 import java.io.IOException;
 import java.net.URISyntaxException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 
 /**
  * Create a version file to be matched against the server one to check if the application does need to be updated.
  * This is used by application that cannot be updated using update4j.
+ * To run the check in background, use VersionCheck.
  *
  * @author Grégory Van den Borre
  */
@@ -38,38 +36,41 @@ public class VersionFile {
      * The server file can be created using sha1sum {PATH_TO_APPLICATION}/application_name.jar | awk '{printf toupper($1)}' > {PATH_TO_FILE}/FILE_NAME on the server.
      */
     public static void createVersionFile(String fileName) {
+        createVersionFile(fileName, FileHasher.sha1());
+    }
+
+    /**
+     * Create client version file to be matched against the server one, the server one must be created with the same algorithm.
+     * Using a cached hasher avoids to hash the application again when it did not change since the previous launch.
+     * @param fileName Version file to create.
+     * @param hasher Hasher to use.
+     */
+    public static void createVersionFile(String fileName, FileHasher hasher) {
         try {
-            var version = Path.of(fileName);
-            Files.deleteIfExists(version);
-            Files.createFile(version);
-            Files.writeString(version, createHash());
+            write(Path.of(fileName), hasher.hash(applicationPath()));
         } catch (Exception e) {
             System.getLogger(VersionFile.class.toString()).log(System.Logger.Level.ERROR, "", e);
         }
     }
 
-    private static String createHash() throws NoSuchAlgorithmException, URISyntaxException, IOException {
-        var file = new File(VersionFile.class.getProtectionDomain().getCodeSource().getLocation()
-                .toURI()).getPath();
-        var digest = MessageDigest.getInstance("SHA-1");
-        try (var fis = new FileInputStream(file)) {
-            var n = 0;
-            var buffer = new byte[8192];
-            while (n != -1) {
-                n = fis.read(buffer);
-                if (n > 0) {
-                    digest.update(buffer, 0, n);
-                }
-            }
-            var data = digest.digest();
-            var builder = new StringBuilder(data.length * 2);
-            var hexCode = "0123456789ABCDEF".toCharArray();
-            for (byte b : data) {
-                builder.append(hexCode[b >> 4 & 15]);
-                builder.append(hexCode[b & 15]);
-            }
+    /**
+     * Write a file in a temporary file, then move it to replace the target, so the target is never partially written.
+     * @param file File to write.
+     * @param content Content to write.
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(Path file, String content) throws IOException {
+        AtomicFile.writeString(file, content);
+    }
 
-            return builder.toString();
+    /**
+     * @return The jar, or directory, containing this class.
+     */
+    static Path applicationPath() {
+        try {
+            return Path.of(VersionFile.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
         }
     }
 }
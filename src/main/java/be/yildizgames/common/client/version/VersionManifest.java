@@ -0,0 +1,246 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import be.yildizgames.common.client.storage.AtomicFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Manifest of all files in an installation directory, with their size, modification time and hash.
+ * Large files can also be hashed per block, so only the changed blocks need to be downloaded.
+ * Comparing the local manifest with the server one provides the files to update, instead of downloading the whole application.
+ *
+ * The manifest is saved as text, a header line with the hasher identifier and block size,
+ * then a line per file: path, size, modification time, hash and comma separated block hashes, separated by tabulations.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class VersionManifest {
+
+    private static final String HEADER = "#manifest";
+
+    private static final String SEPARATOR = "\t";
+
+    private final String hasherId;
+
+    private final int blockSize;
+
+    private final Map<String, ManifestEntry> entries;
+
+    private VersionManifest(String hasherId, int blockSize, Map<String, ManifestEntry> entries) {
+        super();
+        this.hasherId = hasherId;
+        this.blockSize = blockSize;
+        this.entries = entries;
+    }
+
+    /**
+     * Create the manifest for all files in a directory, without block hashes.
+     * @param root Installation directory.
+     * @param hasher Hasher to use.
+     * @return The created manifest.
+     * @throws IOException If a file cannot be read.
+     */
+    public static VersionManifest create(Path root, FileHasher hasher) throws IOException {
+        return create(root, hasher, null, 0);
+    }
+
+    /**
+     * Create the manifest for all files in a directory, the files are hashed in parallel.
+     * @param root Installation directory.
+     * @param hasher Hasher to use.
+     * @param previous Previous manifest for this directory, the hashes of the files with the same size and modification time are reused, can be null.
+     * @param blockSize Files larger than this size are also hashed per block of this size, 0 to disable block hashes.
+     * @return The created manifest.
+     * @throws IOException If a file cannot be read, or its name contains a tabulation or a line break.
+     */
+    public static VersionManifest create(Path root, FileHasher hasher, VersionManifest previous, int blockSize) throws IOException {
+        Objects.requireNonNull(hasher);
+        if (blockSize < 0) {
+            throw new IllegalArgumentException("Block size cannot be negative.");
+        }
+        var reusable = previous != null && previous.hasherId.equals(hasher.getId()) && previous.blockSize == blockSize;
+        List<Path> files;
+        try (var stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+        try {
+            var result = files.parallelStream()
+                    .map(f -> entry(root, f, hasher, reusable ? previous : null, blockSize))
+                    .toList();
+            var entries = new TreeMap<String, ManifestEntry>();
+            result.forEach(e -> entries.put(e.getPath(), e));
+            return new VersionManifest(hasher.getId(), blockSize, entries);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            hasher.saveCache();
+        }
+    }
+
+    /**
+     * Load a saved manifest.
+     * @param file Manifest file.
+     * @return The loaded manifest.
+     * @throws IOException If the file cannot be read or is invalid.
+     */
+    public static VersionManifest load(Path file) throws IOException {
+        var lines = Files.readAllLines(file);
+        if (lines.isEmpty()) {
+            throw new IOException("Empty manifest: " + file);
+        }
+        var header = lines.get(0).split(SEPARATOR);
+        if (header.length != 3 || !HEADER.equals(header[0])) {
+            throw new IOException("Invalid manifest header: " + file);
+        }
+        try {
+            var entries = new TreeMap<String, ManifestEntry>();
+            for (var i = 1; i < lines.size(); i++) {
+                var line = lines.get(i);
+                if (line.isEmpty()) {
+                    continue;
+                }
+                var values = line.split(SEPARATOR, -1);
+                if (values.length != 5) {
+                    throw new IOException("Invalid manifest line " + (i + 1) + ": " + file);
+                }
+                var blocks = values[4].isEmpty() ? List.<String>of() : Arrays.asList(values[4].split(","));
+                entries.put(values[0], new ManifestEntry(values[0], Long.parseLong(values[1]), Long.parseLong(values[2]), values[3], blocks));
+            }
+            return new VersionManifest(header[1], Integer.parseInt(header[2]), entries);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid manifest: " + file, e);
+        }
+    }
+
+    /**
+     * Save the manifest, the file is replaced atomically.
+     * @param file File to write.
+     * @throws IOException If the file cannot be written.
+     */
+    public void save(Path file) throws IOException {
+        var lines = new ArrayList<String>(this.entries.size() + 1);
+        lines.add(HEADER + SEPARATOR + this.hasherId + SEPARATOR + this.blockSize);
+        for (var e : this.entries.values()) {
+            lines.add(e.getPath() + SEPARATOR + e.getSize() + SEPARATOR + e.getModified() + SEPARATOR + e.getHash()
+                    + SEPARATOR + String.join(",", e.getBlocks()));
+        }
+        AtomicFile.write(file, temp -> Files.write(temp, lines));
+    }
+
+    /**
+     * Compare this manifest with the remote one, the size and hashes are compared, not the modification times.
+     * @param remote Manifest of the version to install.
+     * @return The files and blocks to update.
+     * @throws IllegalArgumentException If both manifests were not created with the same hashing scheme.
+     */
+    public ManifestDiff compareTo(VersionManifest remote) {
+        if (!this.hasherId.equals(remote.hasherId)) {
+            throw new IllegalArgumentException("Manifests use different hashes: " + this.hasherId + " and " + remote.hasherId);
+        }
+        var changed = new HashSet<String>();
+        var changedBlocks = new HashMap<String, List<Integer>>();
+        for (var r : remote.entries.values()) {
+            var local = this.entries.get(r.getPath());
+            if (local == null) {
+                changed.add(r.getPath());
+            } else if (local.getSize() != r.getSize() || !local.getHash().equals(r.getHash())) {
+                changed.add(r.getPath());
+                if (this.blockSize == remote.blockSize && !local.getBlocks().isEmpty() && !r.getBlocks().isEmpty()) {
+                    changedBlocks.put(r.getPath(), changedBlocks(local.getBlocks(), r.getBlocks()));
+                }
+            }
+        }
+        var removed = new HashSet<>(this.entries.keySet());
+        removed.removeAll(remote.entries.keySet());
+        return new ManifestDiff(changed, removed, changedBlocks);
+    }
+
+    /**
+     * @param path Path relative to the root, using / as separator.
+     * @return The entry for the path.
+     */
+    public Optional<ManifestEntry> getEntry(String path) {
+        return Optional.ofNullable(this.entries.get(path));
+    }
+
+    /**
+     * @return All entries, sorted by path.
+     */
+    public Collection<ManifestEntry> getEntries() {
+        return Collections.unmodifiableCollection(this.entries.values());
+    }
+
+    public String getHasherId() {
+        return this.hasherId;
+    }
+
+    public int getBlockSize() {
+        return this.blockSize;
+    }
+
+    private static List<Integer> changedBlocks(List<String> local, List<String> remote) {
+        var result = new ArrayList<Integer>();
+        for (var i = 0; i < remote.size(); i++) {
+            if (i >= local.size() || !local.get(i).equals(remote.get(i))) {
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
+    private static ManifestEntry entry(Path root, Path file, FileHasher hasher, VersionManifest previous, int blockSize) {
+        try {
+            var path = root.relativize(file).toString().replace(file.getFileSystem().getSeparator(), "/");
+            if (path.indexOf('\t') >= 0 || path.indexOf('\n') >= 0 || path.indexOf('\r') >= 0) {
+                throw new IOException("Unsupported tabulation or line break in the file name: " + file);
+            }
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            var size = attributes.size();
+            var modified = attributes.lastModifiedTime().toMillis();
+            if (previous != null) {
+                var old = previous.entries.get(path);
+                if (old != null && old.getSize() == size && old.getModified() == modified) {
+                    return old;
+                }
+            }
+            if (blockSize > 0 && size > blockSize) {
+                var blocks = new ArrayList<String>();
+                var hash = hasher.hash(file, blockSize, blocks);
+                return new ManifestEntry(path, size, modified, hash, blocks);
+            }
+            return new ManifestEntry(path, size, modified, hasher.hash(file, HashProgress.NONE), List.of());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -18,9 +18,11 @@ open module be.yildizgames.common.client {
     requires java.desktop;
     requires be.yildizgames.common.application;
     requires be.yildizgames.common.logging;
+    requires jdk.jfr;
 
     exports be.yildizgames.common.client.translation;
     exports be.yildizgames.common.client.splash;
+    exports be.yildizgames.common.client.startup;
     exports be.yildizgames.common.client.storage;
     exports be.yildizgames.common.client.version;
 }
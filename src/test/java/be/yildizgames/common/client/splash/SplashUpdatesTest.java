@@ -0,0 +1,150 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.splash;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class SplashUpdatesTest {
+
+    private static final int UPDATES = 100_000;
+
+    /**
+     * Wait until the scheduled flush, delayed by at most a frame, has been applied.
+     */
+    private static void waitFlush() throws InterruptedException, InvocationTargetException {
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> {});
+    }
+
+    @Nested
+    public class SetProgress {
+
+        @Test
+        public void coalescedFromAnotherThread() throws Exception {
+            var values = new ArrayList<Integer>();
+            var edt = new AtomicReference<Boolean>(true);
+            var updates = new SplashUpdates(p -> {
+                edt.compareAndSet(true, SwingUtilities.isEventDispatchThread());
+                values.add(p);
+            }, l -> {}, n -> {});
+            var producer = new Thread(() -> {
+                for (var i = 0; i <= UPDATES; i++) {
+                    updates.setProgress(i * 100 / UPDATES);
+                }
+            });
+            producer.start();
+            producer.join();
+            waitFlush();
+            assertEquals(UPDATES + 1, updates.getReceivedUpdates());
+            assertTrue(updates.getAppliedUpdates() < UPDATES / 100);
+            assertEquals(updates.getAppliedUpdates(), values.size());
+            assertEquals(100, values.get(values.size() - 1).intValue());
+            assertTrue(edt.get());
+        }
+
+        @Test
+        public void negativeIsZero() throws Exception {
+            var values = new ArrayList<Integer>();
+            var updates = new SplashUpdates(values::add, l -> {}, n -> {});
+            updates.setProgress(-5);
+            waitFlush();
+            assertEquals(List.of(0), values);
+        }
+
+        @Test
+        public void closed() throws Exception {
+            var values = new ArrayList<Integer>();
+            var updates = new SplashUpdates(values::add, l -> {}, n -> {});
+            updates.close();
+            updates.setProgress(50);
+            waitFlush();
+            assertTrue(values.isEmpty());
+            assertEquals(1, updates.getReceivedUpdates());
+            assertEquals(0, updates.getAppliedUpdates());
+        }
+    }
+
+    @Nested
+    public class SetName {
+
+        @Test
+        public void lastWins() throws Exception {
+            var names = new ArrayList<String>();
+            var updates = new SplashUpdates(p -> {}, l -> {}, names::add);
+            var producer = new Thread(() -> {
+                updates.setName("first");
+                updates.setName("second");
+            });
+            producer.start();
+            producer.join();
+            waitFlush();
+            assertEquals("second", names.get(names.size() - 1));
+        }
+
+        @Test
+        public void nullClears() throws Exception {
+            var name = new AtomicReference<>("initial");
+            var updates = new SplashUpdates(p -> {}, l -> {}, name::set);
+            var producer = new Thread(() -> updates.setName(null));
+            producer.start();
+            producer.join();
+            waitFlush();
+            assertNull(name.get());
+            assertEquals(1, updates.getAppliedUpdates());
+        }
+    }
+
+    @Nested
+    public class SetCurrentLoading {
+
+        @Test
+        public void nullClears() throws Exception {
+            var loading = new AtomicReference<>("initial");
+            var updates = new SplashUpdates(p -> {}, loading::set, n -> {});
+            var producer = new Thread(() -> updates.setCurrentLoading(null));
+            producer.start();
+            producer.join();
+            waitFlush();
+            assertNull(loading.get());
+            assertEquals(1, updates.getAppliedUpdates());
+        }
+
+        @Test
+        public void fromEventDispatchThread() throws Exception {
+            var loading = new ArrayList<String>();
+            var updates = new SplashUpdates(p -> {}, loading::add, n -> {});
+            SwingUtilities.invokeAndWait(() -> {
+                updates.setCurrentLoading("a");
+                updates.setCurrentLoading("b");
+            });
+            assertEquals(List.of("a", "b"), loading);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.startup;
+
+import be.yildizgames.common.client.splash.LoadingProgress;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class BootstrapTest {
+
+    @Nested
+    public class Start {
+
+        @Test
+        public void dependenciesRunFirst() {
+            var order = new CopyOnWriteArrayList<String>();
+            var progress = new LoadingProgress();
+            Bootstrap.create()
+                    .withProgress(progress)
+                    .add("assets", 10, p -> order.add("assets"), "translations", "version")
+                    .add("translations", 2, p -> order.add("translations"), "version")
+                    .add("version", 1, p -> order.add("version"))
+                    .start()
+                    .join();
+            assertEquals(List.of("version", "translations", "assets"), order);
+            assertEquals(100, progress.getPercent());
+        }
+
+        @Test
+        public void independentTasksRunConcurrently() throws InterruptedException {
+            var both = new CountDownLatch(2);
+            BootstrapTask task = p -> {
+                both.countDown();
+                if (!both.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Tasks not running concurrently.");
+                }
+            };
+            Bootstrap.create()
+                    .add("first", 1, task)
+                    .add("second", 1, task)
+                    .start()
+                    .join();
+            assertEquals(0, both.getCount());
+        }
+
+        @Test
+        public void twice() {
+            var bootstrap = Bootstrap.create().add("task", 1, p -> {});
+            bootstrap.start().join();
+            assertThrows(IllegalStateException.class, bootstrap::start);
+            assertThrows(IllegalStateException.class, () -> bootstrap.add("other", 1, p -> {}));
+        }
+
+        @Test
+        public void noTask() {
+            Bootstrap.create().start().join();
+        }
+
+        @Test
+        public void sameName() {
+            var bootstrap = Bootstrap.create().add("task", 1, p -> {});
+            assertThrows(IllegalArgumentException.class, () -> bootstrap.add("task", 1, p -> {}));
+        }
+    }
+
+    @Nested
+    public class Dependencies {
+
+        @Test
+        public void cycle() {
+            var bootstrap = Bootstrap.create()
+                    .add("a", 1, p -> {}, "c")
+                    .add("b", 1, p -> {}, "a")
+                    .add("c", 1, p -> {}, "b");
+            assertThrows(IllegalArgumentException.class, bootstrap::start);
+        }
+
+        @Test
+        public void selfDependency() {
+            var bootstrap = Bootstrap.create().add("a", 1, p -> {}, "a");
+            assertThrows(IllegalArgumentException.class, bootstrap::start);
+        }
+
+        @Test
+        public void unknown() {
+            var bootstrap = Bootstrap.create().add("a", 1, p -> {}, "missing");
+            assertThrows(IllegalArgumentException.class, bootstrap::start);
+        }
+    }
+
+    @Nested
+    public class Failure {
+
+        @Test
+        public void namesTheTask() {
+            var cause = new IOException("cannot read");
+            var future = Bootstrap.create()
+                    .add("version", 1, p -> {})
+                    .add("translations", 1, p -> {
+                        throw cause;
+                    }, "version")
+                    .start();
+            var e = assertThrows(CompletionException.class, future::join);
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertTrue(e.getCause().getMessage().contains("translations"));
+            assertEquals(cause, e.getCause().getCause());
+        }
+
+        @Test
+        public void dependentsNotRun() {
+            var run = new AtomicBoolean();
+            var future = Bootstrap.create()
+                    .add("translations", 1, p -> {
+                        throw new IOException("cannot read");
+                    })
+                    .add("assets", 1, p -> run.set(true), "translations")
+                    .add("ui", 1, p -> run.set(true), "assets")
+                    .start();
+            assertThrows(CompletionException.class, future::join);
+            assertFalse(run.get());
+        }
+
+        @Test
+        public void doesNotWaitForRunningTasks() {
+            var release = new CountDownLatch(1);
+            var future = Bootstrap.create()
+                    .add("slow", 1, p -> release.await())
+                    .add("failing", 1, p -> {
+                        throw new IOException("cannot read");
+                    })
+                    .start();
+            try {
+                var e = assertThrows(CompletionException.class, future::join);
+                assertTrue(e.getCause().getMessage().contains("failing"));
+            } finally {
+                release.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.startup;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class StartupTimelineTest {
+
+    @Nested
+    public class Begin {
+
+        @Test
+        public void nested() {
+            var started = new ArrayList<String>();
+            var timeline = StartupTimeline.create(started::add);
+            try (var outerPhase = timeline.begin("outer")) {
+                try (var innerPhase = timeline.begin("inner")) {
+                    assertEquals(List.of("outer", "inner"), started);
+                }
+                assertEquals(1, timeline.getPhases().size());
+            }
+            var phases = timeline.getPhases();
+            assertEquals(2, phases.size());
+            var outer = phases.get(0);
+            var inner = phases.get(1);
+            assertEquals("outer", outer.getName());
+            assertEquals("inner", inner.getName());
+            assertTrue(inner.getStart().compareTo(outer.getStart()) >= 0);
+            assertTrue(inner.getEnd().compareTo(outer.getEnd()) <= 0);
+            assertEquals(outer.getEnd(), timeline.getTotal());
+        }
+
+        @Test
+        public void closedOnce() throws InterruptedException {
+            var timeline = StartupTimeline.create();
+            var phase = timeline.begin("phase");
+            var ready = new CountDownLatch(1);
+            var threads = new ArrayList<Thread>();
+            for (var i = 0; i < 8; i++) {
+                var thread = new Thread(() -> {
+                    try {
+                        ready.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    phase.close();
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            ready.countDown();
+            for (var thread : threads) {
+                thread.join();
+            }
+            phase.close();
+            assertEquals(1, timeline.getPhases().size());
+        }
+
+        @Test
+        public void eventOnlyOnceRecorderInitialized(@TempDir Path folder) throws IOException {
+            assumeFalse(FlightRecorder.isInitialized());
+            var timeline = StartupTimeline.create();
+            var before = timeline.begin("before-recorder");
+            var file = folder.resolve("startup.jfr");
+            try (var recording = new Recording()) {
+                recording.enable(StartupPhaseEvent.class);
+                recording.start();
+                timeline.begin("after-recorder").close();
+                before.close();
+                recording.stop();
+                recording.dump(file);
+            }
+            var events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("be.yildizgames.StartupPhase"))
+                    .map(e -> e.getString("phase"))
+                    .toList();
+            assertEquals(List.of("after-recorder"), events);
+            assertEquals(2, timeline.getPhases().size());
+        }
+    }
+
+    @Nested
+    public class WriteSummary {
+
+        @Test
+        public void slowestFirst(@TempDir Path folder) throws IOException {
+            var timeline = StartupTimeline.create();
+            timeline.record("fast", Duration.ofMillis(1));
+            timeline.record("slow", Duration.ofMillis(50));
+            timeline.record("medium", Duration.ofMillis(10));
+            var file = folder.resolve("summary").resolve("startup-timeline.tsv");
+            timeline.writeSummary(file);
+            var lines = Files.readAllLines(file);
+            assertEquals(5, lines.size());
+            assertTrue(lines.get(0).startsWith("# total "));
+            assertTrue(lines.get(0).endsWith(" ms"));
+            assertEquals("# phase\tstart_ms\tduration_ms\tthread", lines.get(1));
+            var thread = Thread.currentThread().getName();
+            assertTrue(lines.get(2).startsWith("slow\t"));
+            assertTrue(lines.get(2).endsWith("\t50.000\t" + thread));
+            assertTrue(lines.get(3).endsWith("\t10.000\t" + thread));
+            assertTrue(lines.get(4).startsWith("fast\t"));
+        }
+
+        @Test
+        public void replacesPrevious(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("startup-timeline.tsv");
+            var first = StartupTimeline.create();
+            first.record("first", Duration.ofMillis(1));
+            first.writeSummary(file);
+            StartupTimeline.create().writeSummary(file);
+            assertEquals(List.of("# total 0.000 ms", "# phase\tstart_ms\tduration_ms\tthread"), Files.readAllLines(file));
+            try (var files = Files.list(folder)) {
+                assertEquals(1, files.count());
+            }
+        }
+    }
+}
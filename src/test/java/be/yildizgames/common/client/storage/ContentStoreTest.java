@@ -0,0 +1,227 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import be.yildizgames.common.client.version.FileHasher;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class ContentStoreTest {
+
+    private static ContentStore open(Path folder) throws IOException {
+        return ContentStore.open(folder.resolve("store"), FileHasher.sha256());
+    }
+
+    private static Path file(Path folder, String name, String content) throws IOException {
+        return Files.writeString(folder.resolve(name), content);
+    }
+
+    @Nested
+    public class Add {
+
+        @Test
+        public void storedByHash(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var source = file(folder, "a.txt", "content");
+                var hash = store.add(source);
+                assertEquals(FileHasher.sha256().hash(source), hash);
+                assertTrue(store.contains(hash));
+                assertTrue(store.contains(hash.toLowerCase()));
+                assertEquals("content", Files.readString(store.path(hash)));
+            }
+        }
+
+        @Test
+        public void sameContentStoredOnce(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var first = store.add(file(folder, "a.txt", "content"));
+                var second = store.add(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+                assertEquals(first, second);
+                try (var files = Files.walk(folder.resolve("store/objects"))) {
+                    assertEquals(1, files.filter(Files::isRegularFile).count());
+                }
+            }
+        }
+
+        @Test
+        public void invalidHash(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                assertThrows(IllegalArgumentException.class, () -> store.path("../../outside"));
+                assertThrows(IllegalArgumentException.class, () -> store.contains("ABCD"));
+                assertThrows(IllegalArgumentException.class, () -> store.path("Z".repeat(64)));
+            }
+        }
+    }
+
+    @Nested
+    public class Materialize {
+
+        @Test
+        public void sameContent(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var hash = store.add(file(folder, "a.txt", "content"));
+                var target = folder.resolve("install/lib/a.txt");
+                store.materialize(hash, target);
+                assertEquals("content", Files.readString(target));
+            }
+        }
+
+        @Test
+        public void replaceTarget(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var first = store.add(file(folder, "a.txt", "first"));
+                var second = store.add(file(folder, "b.txt", "second"));
+                var target = folder.resolve("install/a.txt");
+                store.materialize(first, target);
+                store.materialize(second, target);
+                assertEquals("second", Files.readString(target));
+                assertEquals(1, store.collect());
+                assertFalse(store.contains(first));
+                assertTrue(store.contains(second));
+            }
+        }
+
+        @Test
+        public void notInStore(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                assertThrows(IOException.class, () -> store.materialize("A".repeat(64), folder.resolve("a.txt")));
+            }
+        }
+    }
+
+    @Nested
+    public class Collect {
+
+        @Test
+        public void pendingContentKept(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var hash = store.add(file(folder, "a.txt", "content"));
+                assertEquals(0, store.collect());
+                store.release(hash);
+                assertEquals(1, store.collect());
+                assertFalse(store.contains(hash));
+            }
+        }
+
+        @Test
+        public void sharedContent(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var hash = store.add(file(folder, "a.txt", "content"));
+                var first = folder.resolve("install1/a.txt");
+                var second = folder.resolve("install2/a.txt");
+                store.materialize(hash, first);
+                store.materialize(hash, second);
+                store.release(first);
+                assertEquals(0, store.collect());
+                assertTrue(store.contains(hash));
+                store.release(second);
+                assertEquals(1, store.collect());
+                assertFalse(store.contains(hash));
+                assertEquals("content", Files.readString(second));
+            }
+        }
+
+        @Test
+        public void sameTargetMaterializedTwice(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                var hash = store.add(file(folder, "a.txt", "content"));
+                var target = folder.resolve("install/a.txt");
+                store.materialize(hash, target);
+                store.materialize(hash, folder.resolve("install/../install/a.txt"));
+                store.release(target);
+                assertEquals(1, store.collect());
+            }
+        }
+    }
+
+    @Nested
+    public class Reopen {
+
+        @Test
+        public void referencesRestored(@TempDir Path folder) throws IOException {
+            var materialized = folder.resolve("install/a.txt");
+            String used;
+            String pending;
+            String released;
+            try (var store = open(folder)) {
+                used = store.add(file(folder, "a.txt", "used"));
+                store.materialize(used, materialized);
+                pending = store.add(file(folder, "b.txt", "pending"));
+                released = store.add(file(folder, "c.txt", "released"));
+                store.release(released);
+            }
+            try (var store = open(folder)) {
+                assertEquals(1, store.collect());
+                assertTrue(store.contains(used));
+                assertTrue(store.contains(pending));
+                assertFalse(store.contains(released));
+                store.release(materialized);
+                store.release(pending);
+                assertEquals(2, store.collect());
+            }
+            try (var files = Files.list(folder.resolve("store"))) {
+                assertEquals(Set.of("objects", "references.properties"), files.map(f -> f.getFileName().toString()).collect(Collectors.toSet()));
+            }
+        }
+    }
+
+    @Nested
+    public class Verify {
+
+        @Test
+        public void intact(@TempDir Path folder) throws IOException {
+            try (var store = open(folder)) {
+                store.add(file(folder, "a.txt", "first"));
+                store.add(file(folder, "b.txt", "second"));
+                assertTrue(store.verify().isEmpty());
+            }
+        }
+
+        @Test
+        public void corrupted(@TempDir Path folder) throws IOException {
+            var hasher = FileHasher.sha256().cached(folder.resolve("hashes.properties"));
+            try (var store = ContentStore.open(folder.resolve("store"), hasher)) {
+                var hash = store.add(file(folder, "a.txt", "first"));
+                store.add(file(folder, "b.txt", "second"));
+                var object = store.path(hash);
+                hasher.hash(object);
+                // Same size and modification time, the cached hash would still match.
+                var modified = Files.getLastModifiedTime(object);
+                object.toFile().setWritable(true);
+                Files.writeString(object, "FIRST");
+                Files.setLastModifiedTime(object, modified);
+                assertEquals(Set.of(hash), store.verify());
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class LocalCacheTest {
+
+    private static LocalCache open(Path file) throws IOException {
+        return LocalCache.open(file, 1 << 20, Duration.ZERO);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String value(Optional<byte[]> value) {
+        return value.map(v -> new String(v, StandardCharsets.UTF_8)).orElse(null);
+    }
+
+    @Nested
+    public class Replay {
+
+        @Test
+        public void valuesRestored(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            try (var cache = open(file)) {
+                cache.put("a", bytes("first"));
+                cache.put("b", bytes("second"));
+                cache.put("a", bytes("replaced"));
+                cache.put("é", new byte[0]);
+            }
+            try (var cache = open(file)) {
+                assertEquals(3, cache.size());
+                assertEquals("replaced", value(cache.get("a")));
+                assertEquals("second", value(cache.get("b")));
+                assertArrayEquals(new byte[0], cache.get("é").orElseThrow());
+                assertEquals(1L + 8 + 1 + 6 + 2, cache.getLiveBytes());
+            }
+        }
+
+        @Test
+        public void removedValuesStayRemoved(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            try (var cache = open(file)) {
+                cache.put("a", bytes("first"));
+                cache.put("b", bytes("second"));
+                cache.remove("a");
+            }
+            try (var cache = open(file)) {
+                assertEquals(1, cache.size());
+                assertFalse(cache.get("a").isPresent());
+                assertEquals("second", value(cache.get("b")));
+            }
+        }
+
+        @Test
+        public void truncatedRecordDiscarded(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            long validSize;
+            try (var cache = open(file)) {
+                cache.put("a", bytes("first"));
+                validSize = cache.getFileSize();
+                cache.put("b", bytes("second"));
+            }
+            try (var channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(Files.size(file) - 3);
+            }
+            try (var cache = open(file)) {
+                assertEquals(1, cache.size());
+                assertEquals("first", value(cache.get("a")));
+                assertFalse(cache.get("b").isPresent());
+                assertEquals(validSize, Files.size(file));
+                cache.put("c", bytes("third"));
+            }
+            try (var cache = open(file)) {
+                assertEquals(2, cache.size());
+                assertEquals("third", value(cache.get("c")));
+            }
+        }
+
+        @Test
+        public void garbageTailDiscarded(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            long validSize;
+            try (var cache = open(file)) {
+                cache.put("a", bytes("first"));
+                validSize = cache.getFileSize();
+            }
+            Files.write(file, new byte[]{0, 0, 0, 1, 0, 0, 0, 1, 1, 2, 3, 4, 'x', 'y', 0, 0, 0}, StandardOpenOption.APPEND);
+            try (var cache = open(file)) {
+                assertEquals(1, cache.size());
+                assertEquals("first", value(cache.get("a")));
+                assertEquals(validSize, cache.getFileSize());
+                assertEquals(validSize, Files.size(file));
+            }
+        }
+
+        @Test
+        public void corruptedValueDiscarded(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            try (var cache = open(file)) {
+                cache.put("a", bytes("first"));
+                cache.put("b", bytes("second"));
+            }
+            var content = Files.readAllBytes(file);
+            content[content.length - 1] ^= 1;
+            Files.write(file, content);
+            try (var cache = open(file)) {
+                assertEquals(1, cache.size());
+                assertEquals("first", value(cache.get("a")));
+                assertFalse(cache.get("b").isPresent());
+            }
+        }
+    }
+
+    @Nested
+    public class Eviction {
+
+        @Test
+        public void leastRecentlyUsedFirst(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            try (var cache = LocalCache.open(file, 25, Duration.ZERO)) {
+                cache.put("a", new byte[9]);
+                cache.put("b", new byte[9]);
+                cache.get("a");
+                cache.put("c", new byte[9]);
+                assertEquals(2, cache.size());
+                assertTrue(cache.get("a").isPresent());
+                assertFalse(cache.get("b").isPresent());
+                assertTrue(cache.get("c").isPresent());
+                assertEquals(20, cache.getLiveBytes());
+            }
+            try (var cache = LocalCache.open(file, 25, Duration.ZERO)) {
+                assertEquals(2, cache.size());
+                assertFalse(cache.get("b").isPresent());
+            }
+        }
+
+        @Test
+        public void valueLargerThanCache(@TempDir Path folder) throws IOException {
+            try (var cache = LocalCache.open(folder.resolve("cache.log"), 10, Duration.ZERO)) {
+                assertThrows(IllegalArgumentException.class, () -> cache.put("a", new byte[10]));
+            }
+        }
+    }
+
+    @Nested
+    public class Compact {
+
+        @Test
+        public void keepsLiveValues(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("cache.log");
+            try (var cache = open(file)) {
+                for (var i = 0; i < 100; i++) {
+                    cache.put("key" + (i % 10), bytes("value" + i));
+                }
+                cache.remove("key0");
+                var before = cache.getFileSize();
+                cache.compact();
+                assertTrue(cache.getFileSize() < before);
+                assertEquals(Files.size(file), cache.getFileSize());
+                assertEquals(9, cache.size());
+                assertEquals("value99", value(cache.get("key9")));
+            }
+            try (var cache = open(file)) {
+                assertEquals(9, cache.size());
+                assertFalse(cache.get("key0").isPresent());
+                assertEquals("value91", value(cache.get("key1")));
+            }
+        }
+    }
+
+    @Test
+    public void closed(@TempDir Path folder) throws IOException {
+        var cache = open(folder.resolve("cache.log"));
+        cache.close();
+        assertThrows(IllegalStateException.class, () -> cache.get("a"));
+        assertThrows(IllegalStateException.class, () -> cache.put("a", new byte[1]));
+    }
+}
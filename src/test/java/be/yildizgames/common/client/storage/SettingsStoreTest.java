@@ -0,0 +1,158 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class SettingsStoreTest {
+
+    private static Properties read(Path file) throws IOException {
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static void waitFor(Path file, String key, String value) throws IOException, InterruptedException {
+        var deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (System.nanoTime() < deadline) {
+            if (Files.isRegularFile(file) && value.equals(read(file).getProperty(key))) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Setting " + key + " not saved.");
+    }
+
+    @Nested
+    public class Save {
+
+        @Test
+        public void coalesced(@TempDir Path folder) throws Exception {
+            var file = folder.resolve("settings.properties");
+            try (var settings = SettingsStore.open(file, Duration.ofMillis(500))) {
+                for (var i = 0; i < 20; i++) {
+                    settings.set("volume", Integer.toString(i));
+                    Thread.sleep(10);
+                }
+                // Each change restarted the delay, nothing is saved during the burst.
+                assertFalse(Files.exists(file));
+                waitFor(file, "volume", "19");
+                var saved = Files.getLastModifiedTime(file);
+                Thread.sleep(700);
+                assertEquals(saved, Files.getLastModifiedTime(file));
+            }
+        }
+
+        @Test
+        public void notSavedWithoutChange(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("settings.properties");
+            try (var settings = SettingsStore.open(file, Duration.ofHours(1))) {
+                settings.set("volume", null);
+            }
+            assertFalse(Files.exists(file));
+        }
+
+        @Test
+        public void flush(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("settings.properties");
+            try (var settings = SettingsStore.open(file, Duration.ofHours(1))) {
+                settings.set("volume", "5");
+                settings.flush();
+                assertEquals("5", read(file).getProperty("volume"));
+                try (var stream = Files.list(folder)) {
+                    assertEquals(1, stream.count());
+                }
+            }
+        }
+    }
+
+    @Nested
+    public class Reload {
+
+        @Test
+        public void afterClose(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("config/settings.properties");
+            try (var settings = SettingsStore.open(file, Duration.ofHours(1))) {
+                settings.set("volume", "5");
+                settings.set("language", "fr");
+                settings.set("name", "é=ü");
+                settings.set("language", null);
+            }
+            try (var settings = SettingsStore.open(file, Duration.ofHours(1))) {
+                assertEquals(Optional.of("5"), settings.get("volume"));
+                assertEquals(Optional.of("é=ü"), settings.get("name"));
+                assertFalse(settings.get("language").isPresent());
+                assertEquals("en", settings.get("language", "en"));
+            }
+        }
+    }
+
+    @Nested
+    public class Listener {
+
+        @Test
+        public void notifiedOfChanges(@TempDir Path folder) throws IOException {
+            var changes = new ArrayList<String>();
+            try (var settings = SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1))) {
+                SettingsListener listener = (k, o, n) -> changes.add(k + ":" + o + ":" + n);
+                settings.addListener(listener);
+                settings.set("volume", "5");
+                settings.set("volume", "5");
+                settings.set("volume", null);
+                settings.removeListener(listener);
+                settings.set("volume", "6");
+            }
+            assertEquals(List.of("volume:null:5", "volume:5:null"), changes);
+        }
+
+        @Test
+        public void failureDoesNotLoseTheChange(@TempDir Path folder) throws Exception {
+            var file = folder.resolve("settings.properties");
+            var notified = new ArrayList<String>();
+            try (var settings = SettingsStore.open(file, Duration.ofMillis(20))) {
+                settings.addListener((k, o, n) -> {
+                    throw new IllegalStateException("listener failure");
+                });
+                settings.addListener((k, o, n) -> notified.add(n));
+                settings.set("volume", "5");
+                assertEquals(List.of("5"), notified);
+                waitFor(file, "volume", "5");
+                assertTrue(settings.get("volume").isPresent());
+            }
+        }
+    }
+}
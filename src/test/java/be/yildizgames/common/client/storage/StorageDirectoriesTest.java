@@ -0,0 +1,164 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.storage;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class StorageDirectoriesTest {
+
+    private static final String APPLICATION = "game";
+
+    private static Properties properties(String os, String home) {
+        var properties = new Properties();
+        properties.setProperty("os.name", os);
+        properties.setProperty("user.home", home);
+        properties.setProperty("java.io.tmpdir", "/tmp");
+        return properties;
+    }
+
+    @Nested
+    public class Linux {
+
+        @Test
+        public void defaultDirectories() {
+            var directories = StorageDirectories.resolve(APPLICATION, Map.of(), properties("Linux", "/home/user"));
+            assertEquals(Path.of("/home/user/.local/share/game"), directories.getData());
+            assertEquals(Path.of("/home/user/.config/game"), directories.getConfig());
+            assertEquals(Path.of("/home/user/.cache/game"), directories.getCache());
+            assertEquals(Path.of("/tmp/game"), directories.getTemp());
+            assertEquals(Path.of("/home/user"), directories.getMachineLocal());
+        }
+
+        @Test
+        public void xdgVariables() {
+            var environment = Map.of(
+                    "XDG_DATA_HOME", "/data",
+                    "XDG_CONFIG_HOME", "/config",
+                    "XDG_CACHE_HOME", "/cache",
+                    "XDG_RUNTIME_DIR", "/run/user/1000");
+            var directories = StorageDirectories.resolve(APPLICATION, environment, properties("Linux", "/home/user"));
+            assertEquals(Path.of("/data/game"), directories.getData());
+            assertEquals(Path.of("/config/game"), directories.getConfig());
+            assertEquals(Path.of("/cache/game"), directories.getCache());
+            assertEquals(Path.of("/run/user/1000/game"), directories.getTemp());
+        }
+
+        @Test
+        public void blankVariableIgnored() {
+            var directories = StorageDirectories.resolve(APPLICATION, Map.of("XDG_DATA_HOME", " "), properties("Linux", "/home/user"));
+            assertEquals(Path.of("/home/user/.local/share/game"), directories.getData());
+        }
+
+        @Test
+        public void relativeVariableIgnored() {
+            var environment = Map.of(
+                    "XDG_DATA_HOME", "data",
+                    "XDG_CONFIG_HOME", "./config",
+                    "XDG_CACHE_HOME", "../cache",
+                    "XDG_RUNTIME_DIR", "run");
+            var directories = StorageDirectories.resolve(APPLICATION, environment, properties("Linux", "/home/user"));
+            assertEquals(Path.of("/home/user/.local/share/game"), directories.getData());
+            assertEquals(Path.of("/home/user/.config/game"), directories.getConfig());
+            assertEquals(Path.of("/home/user/.cache/game"), directories.getCache());
+            assertEquals(Path.of("/tmp/game"), directories.getTemp());
+        }
+    }
+
+    @Nested
+    public class Windows {
+
+        @Test
+        public void variables() {
+            var environment = Map.of(
+                    "LOCALAPPDATA", "/local",
+                    "APPDATA", "/roaming",
+                    "ProgramData", "/programdata");
+            var directories = StorageDirectories.resolve(APPLICATION, environment, properties("Windows 11", "/users/user"));
+            assertEquals(Path.of("/local/game"), directories.getData());
+            assertEquals(Path.of("/roaming/game"), directories.getConfig());
+            assertEquals(Path.of("/local/game/cache"), directories.getCache());
+            assertEquals(Path.of("/tmp/game"), directories.getTemp());
+            assertEquals(Path.of("/programdata"), directories.getMachineLocal());
+        }
+
+        @Test
+        public void withoutVariables() {
+            var directories = StorageDirectories.resolve(APPLICATION, Map.of(), properties("Windows 10", "/users/user"));
+            assertEquals(Path.of("/users/user/AppData/Local/game"), directories.getData());
+            assertEquals(Path.of("/users/user/AppData/Roaming/game"), directories.getConfig());
+        }
+    }
+
+    @Nested
+    public class Mac {
+
+        @Test
+        public void library() {
+            var directories = StorageDirectories.resolve(APPLICATION, Map.of(), properties("Mac OS X", "/Users/user"));
+            assertEquals(Path.of("/Users/user/Library/Application Support/game"), directories.getData());
+            assertEquals(Path.of("/Users/user/Library/Preferences/game"), directories.getConfig());
+            assertEquals(Path.of("/Users/user/Library/Caches/game"), directories.getCache());
+            assertEquals(Path.of("/Users/Shared"), directories.getMachineLocal());
+        }
+    }
+
+    @Nested
+    public class CacheOverride {
+
+        @Test
+        public void fromVariable() {
+            var environment = Map.of(StorageDirectories.CACHE_VARIABLE, "/fast");
+            var directories = StorageDirectories.resolve(APPLICATION, environment, properties("Linux", "/home/user"));
+            assertEquals(Path.of("/fast/game"), directories.getCache());
+        }
+
+        @Test
+        public void propertyHasPriority() {
+            var environment = Map.of(StorageDirectories.CACHE_VARIABLE, "/fast", "XDG_CACHE_HOME", "/cache");
+            var properties = properties("Linux", "/home/user");
+            properties.setProperty(StorageDirectories.CACHE_PROPERTY, "/faster");
+            var directories = StorageDirectories.resolve(APPLICATION, environment, properties);
+            assertEquals(Path.of("/faster/game"), directories.getCache());
+        }
+
+        @Test
+        public void withCache() {
+            var directories = StorageDirectories.resolve(APPLICATION, Map.of(), properties("Linux", "/home/user")).withCache(Path.of("/other"));
+            assertEquals(Path.of("/other"), directories.getCache());
+            assertEquals(Path.of("/home/user/.local/share/game"), directories.getData());
+        }
+    }
+
+    @Nested
+    public class Unsupported {
+
+        @Test
+        public void unknownSystem() {
+            assertThrows(IllegalStateException.class, () -> StorageDirectories.resolve(APPLICATION, Map.of(), properties("Plan 9", "/usr/glenda")));
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import be.yildizgames.common.client.storage.SettingsStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListResourceBundle;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class BaseTranslationTest {
+
+    private static SettingsLanguageConfiguration configuration(Path folder) throws IOException {
+        return new SettingsLanguageConfiguration(SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1)),
+                List.of(Locale.ENGLISH, Locale.FRENCH), Locale.ENGLISH);
+    }
+
+    private static TestTranslation translation(Path folder, TranslationLoading loading) throws IOException {
+        return new TestTranslation(configuration(folder), Messages.class, loading, Runnable::run);
+    }
+
+    @Nested
+    public class Get {
+
+        @Test
+        public void byName(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            assertEquals("Hello", translation.get("hello"));
+            assertEquals("Quit", translation.get("quit"));
+        }
+
+        @Test
+        public void byKey(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            assertEquals("Hello", translation.get(translation.key("hello")));
+            assertEquals("Hello 2", translation.template(translation.key("hello.count")).format(2));
+        }
+
+        @Test
+        public void keyFromAnotherTranslation(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            var other = new TestTranslation(configuration(folder.resolve("other")), Others.class, TranslationLoading.EAGER, Runnable::run);
+            // Index 0 in the other translation, while index 0 in this translation is another key.
+            assertEquals("other", translation.get(other.key("other")));
+            assertEquals("Hello", translation.get(other.key("hello")));
+            assertEquals("Quit", translation.template(other.key("quit")).format());
+        }
+
+        @Test
+        public void unresolvedKey(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            assertEquals("Hello", translation.get(TranslationKey.unresolved("hello")));
+            assertEquals("unknown", translation.get(TranslationKey.unresolved("unknown")));
+        }
+
+        @Test
+        public void localeSwitchByKey(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new TestTranslation(configuration, Messages.class, TranslationLoading.EAGER, Runnable::run);
+            var key = translation.key("hello");
+            assertEquals("Hello", translation.get(key));
+            configuration.setLocale(Locale.FRENCH);
+            translation.refreshLocale();
+            assertEquals("Bonjour", translation.get(key));
+            assertEquals("Bonjour 2", translation.template(translation.key("hello.count")).format(2));
+            configuration.setLocale(Locale.ENGLISH);
+            translation.refreshLocale();
+            assertEquals("Hello", translation.get(key));
+        }
+
+        @Test
+        public void localeSwitchByName(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new TestTranslation(configuration, Messages.class, TranslationLoading.EAGER, Runnable::run);
+            configuration.setLocale(Locale.FRENCH);
+            assertEquals("Bonjour", translation.get("hello"));
+            assertEquals("Bonjour", translation.get(translation.key("hello")));
+        }
+    }
+
+    @Nested
+    public class Missing {
+
+        @Test
+        public void keyReturned(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            assertEquals("unknown", translation.get("unknown"));
+            assertEquals("unknown.key", translation.get(translation.key("unknown.key")));
+            assertEquals("unknown.template", translation.template("unknown.template").format(1));
+        }
+
+        @Test
+        public void rememberedPerLocale(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new TestTranslation(configuration, Messages.class, TranslationLoading.EAGER, Runnable::run);
+            assertTrue(translation.getMissingKeys().isEmpty());
+            translation.get("unknown");
+            translation.get("unknown");
+            translation.get(translation.key("other.unknown"));
+            assertEquals(Map.of(Locale.ENGLISH, Set.of("unknown", "other.unknown")), translation.getMissingKeys());
+            configuration.setLocale(Locale.FRENCH);
+            translation.get("english.only");
+            assertEquals(Set.of("english.only"), translation.getMissingKeys().get(Locale.FRENCH));
+            assertEquals(2, translation.getMissingKeys().get(Locale.ENGLISH).size());
+        }
+    }
+
+    @Nested
+    public class Loading {
+
+        @Test
+        public void eager(@TempDir Path folder) throws IOException {
+            var translation = translation(folder, TranslationLoading.EAGER);
+            assertEquals(Set.of(Locale.ENGLISH, Locale.FRENCH), translation.getLoadingTimes().keySet());
+        }
+
+        @Test
+        public void lazy(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new TestTranslation(configuration, Messages.class, TranslationLoading.LAZY, Runnable::run);
+            assertEquals(Set.of(Locale.ENGLISH), translation.getLoadingTimes().keySet());
+            configuration.setLocale(Locale.FRENCH);
+            assertEquals("Bonjour", translation.get("hello"));
+            assertEquals(Set.of(Locale.ENGLISH, Locale.FRENCH), translation.getLoadingTimes().keySet());
+        }
+
+        @Test
+        public void background(@TempDir Path folder) throws IOException {
+            var tasks = new ArrayList<Runnable>();
+            var configuration = configuration(folder);
+            var translation = new TestTranslation(configuration, Messages.class, TranslationLoading.BACKGROUND, tasks::add);
+            assertEquals(Set.of(Locale.ENGLISH), translation.getLoadingTimes().keySet());
+            assertEquals(1, tasks.size());
+            tasks.forEach(Runnable::run);
+            assertEquals(Set.of(Locale.ENGLISH, Locale.FRENCH), translation.getLoadingTimes().keySet());
+            configuration.setLocale(Locale.FRENCH);
+            assertEquals("Bonjour", translation.get("hello"));
+        }
+
+        @Test
+        public void backgroundRejected(@TempDir Path folder) throws IOException {
+            Executor rejecting = r -> {
+                throw new RejectedExecutionException();
+            };
+            var translation = new TestTranslation(configuration(folder), Messages.class, TranslationLoading.BACKGROUND, rejecting);
+            assertEquals(Set.of(Locale.ENGLISH, Locale.FRENCH), translation.getLoadingTimes().keySet());
+        }
+
+        @Test
+        public void bundleNotFound(@TempDir Path folder) throws IOException {
+            var translation = new TestTranslation(configuration(folder), BaseTranslationTest.class, TranslationLoading.LAZY, Runnable::run);
+            assertEquals("hello", translation.get("hello"));
+            assertFalse(translation.getMissingKeys().isEmpty());
+        }
+    }
+
+    private static final class TestTranslation extends BaseTranslation {
+
+        private TestTranslation(SettingsLanguageConfiguration configuration, Class<?> bundle, TranslationLoading loading, Executor executor) {
+            super(configuration, bundle, loading, executor);
+        }
+    }
+
+    public static final class Messages extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[0][];
+        }
+    }
+
+    public static final class Messages_en extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][]{{"hello", "Hello"}, {"quit", "Quit"}, {"hello.count", "Hello {0}"}, {"english.only", "English"}};
+        }
+    }
+
+    public static final class Messages_fr extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][]{{"hello", "Bonjour"}, {"quit", "Quitter"}, {"hello.count", "Bonjour {0}"}};
+        }
+    }
+
+    public static final class Others extends ListResourceBundle {
+
+        @Override
+        protected Object[][] getContents() {
+            return new Object[][]{{"other", "Other"}};
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import be.yildizgames.common.client.storage.SettingsStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class CompiledTranslationsTest {
+
+    private static ResourceBundle bundle(String content) throws IOException {
+        return new PropertyResourceBundle(new StringReader(content));
+    }
+
+    private static Map<Locale, ResourceBundle> bundles() throws IOException {
+        var bundles = new LinkedHashMap<Locale, ResourceBundle>();
+        bundles.put(Locale.ENGLISH, bundle("hello=Hello\nunits={0,choice,0#no unit|1#one unit|1<{0} units}\nenglish.only=Only\n"));
+        bundles.put(Locale.FRENCH, bundle("hello=Bonjour\nunits={0,choice,0#aucune unité|1#une unité|1<{0} unités}\naccent=été 中文\n"));
+        return bundles;
+    }
+
+    private static Path corrupt(Path folder, int position, int value) throws IOException {
+        var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+        CompiledTranslations.write(bundles(), file);
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        buffer.putInt(position, value);
+        return Files.write(folder.resolve("corrupted.ytr"), buffer.array());
+    }
+
+    @Nested
+    public class RoundTrip {
+
+        @Test
+        public void sameValuesAsBundles(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            var bundles = bundles();
+            CompiledTranslations.write(bundles, file);
+            var compiled = CompiledTranslations.open(file);
+            var keys = new TranslationKeys();
+            for (var entry : bundles.entrySet()) {
+                assertTrue(compiled.contains(entry.getKey()));
+                var table = compiled.table(entry.getKey(), keys);
+                for (var name : entry.getValue().keySet()) {
+                    assertEquals(entry.getValue().getString(name), table.get(keys.register(name).getId()));
+                }
+            }
+        }
+
+        @Test
+        public void keyMissingInALocale(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            var compiled = CompiledTranslations.open(file);
+            var keys = new TranslationKeys();
+            var french = compiled.table(Locale.FRENCH, keys);
+            assertNull(french.get(keys.register("english.only").getId()));
+            assertEquals("Only", compiled.table(Locale.ENGLISH, keys).get(keys.register("english.only").getId()));
+        }
+
+        @Test
+        public void keysRegisteredBefore(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            var keys = new TranslationKeys();
+            var unknown = keys.register("unknown");
+            var hello = keys.register("hello");
+            var table = CompiledTranslations.open(file).table(Locale.FRENCH, keys);
+            assertEquals("Bonjour", table.get(hello.getId()));
+            assertNull(table.get(unknown.getId()));
+        }
+
+        @Test
+        public void localeNotCompiled(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            assertFalse(CompiledTranslations.open(file).contains(Locale.GERMAN));
+        }
+    }
+
+    @Nested
+    public class Open {
+
+        @Test
+        public void invalidHeader(@TempDir Path folder) throws IOException {
+            var file = Files.write(folder.resolve("invalid.ytr"), new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+            assertThrows(IOException.class, () -> CompiledTranslations.open(file));
+        }
+
+        @Test
+        public void negativeKeyCount(@TempDir Path folder) throws IOException {
+            var file = corrupt(folder, 8, -1);
+            assertThrows(IOException.class, () -> CompiledTranslations.open(file));
+        }
+
+        @Test
+        public void hugeKeyCount(@TempDir Path folder) throws IOException {
+            var file = corrupt(folder, 8, Integer.MAX_VALUE);
+            assertThrows(IOException.class, () -> CompiledTranslations.open(file));
+        }
+
+        @Test
+        public void negativeLocaleCount(@TempDir Path folder) throws IOException {
+            var file = corrupt(folder, 12, -5);
+            assertThrows(IOException.class, () -> CompiledTranslations.open(file));
+        }
+
+        @Test
+        public void invalidStringLength(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            var keyCount = buffer.getInt(8);
+            var localeCount = buffer.getInt(12);
+            var poolStart = 16 + keyCount * 4 + localeCount * (1 + keyCount) * 4;
+            for (var length : new int[]{-1, Integer.MAX_VALUE}) {
+                buffer.putInt(poolStart + buffer.getInt(16), length);
+                var corrupted = Files.write(folder.resolve("corrupted.ytr"), buffer.array());
+                assertThrows(IOException.class, () -> CompiledTranslations.open(corrupted));
+            }
+        }
+
+        @Test
+        public void invalidValueOffset(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            var buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            var keyCount = buffer.getInt(8);
+            // First value of the first locale.
+            buffer.putInt(16 + keyCount * 4 + 4, Integer.MAX_VALUE - 8);
+            var corrupted = Files.write(folder.resolve("corrupted.ytr"), buffer.array());
+            assertThrows(IOException.class, () -> CompiledTranslations.open(corrupted));
+        }
+
+        @Test
+        public void emptyFile(@TempDir Path folder) throws IOException {
+            var file = Files.write(folder.resolve("empty.ytr"), new byte[0]);
+            assertThrows(IOException.class, () -> CompiledTranslations.open(file));
+        }
+
+        @Test
+        public void translationFallsBackToBundles(@TempDir Path folder) throws IOException {
+            var file = corrupt(folder, 8, Integer.MAX_VALUE);
+            var configuration = new SettingsLanguageConfiguration(SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1)),
+                    List.of(Locale.ENGLISH, Locale.FRENCH), Locale.ENGLISH);
+            var translation = new CompiledTranslation(configuration, file);
+            assertEquals("Hello", translation.get("hello"));
+        }
+
+        @Test
+        public void truncated(@TempDir Path folder) throws IOException {
+            var file = folder.resolve("messages" + CompiledTranslations.EXTENSION);
+            CompiledTranslations.write(bundles(), file);
+            var content = Files.readAllBytes(file);
+            var truncated = Files.write(folder.resolve("truncated.ytr"), Arrays.copyOf(content, 20));
+            assertThrows(IOException.class, () -> CompiledTranslations.open(truncated));
+        }
+    }
+
+    private static final class CompiledTranslation extends BaseTranslation {
+
+        private CompiledTranslation(SettingsLanguageConfiguration configuration, Path compiled) {
+            super(configuration, BaseTranslationTest.Messages.class, TranslationLoading.EAGER, compiled);
+        }
+    }
+}
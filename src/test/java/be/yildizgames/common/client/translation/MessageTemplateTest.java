@@ -0,0 +1,182 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.text.MessageFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The templates must produce the same result as MessageFormat for the supported elements.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class MessageTemplateTest {
+
+    private static final String[] PATTERNS = {
+            "no argument",
+            "{0}",
+            "Hello {0}, you have {1} messages",
+            "{1} before {0}",
+            "{0,number}",
+            "{0,number,integer}",
+            "{0,choice,0#no unit|1#one unit|1<{0} units}",
+            "{0,choice,0#aucune unité|1#une unité|1<{0,number,integer} unités}",
+            "It''s {0}",
+            "'{0}' is quoted",
+            "'{'{0}'}'"
+    };
+
+    private static final Object[][] ARGUMENTS = {
+            {0L, "x"},
+            {1L, "y"},
+            {2L, "z"},
+            {1234567L, "w"},
+            {-5L, "v"},
+            {-1234567L, "t"},
+            {Long.MAX_VALUE, "s"},
+            {Long.MIN_VALUE, "r"},
+            {-42, "q"},
+            {12.5, "u"},
+            {-1234.5, "p"}
+    };
+
+    private static void assertSameAsMessageFormat(Locale locale) {
+        for (var pattern : PATTERNS) {
+            var template = MessageTemplate.compile(pattern, locale);
+            var format = new MessageFormat(pattern, locale);
+            for (var args : ARGUMENTS) {
+                assertEquals(format.format(args), template.format(args), pattern);
+            }
+        }
+    }
+
+    @Nested
+    public class Format {
+
+        @Test
+        public void english() {
+            assertSameAsMessageFormat(Locale.ENGLISH);
+        }
+
+        @Test
+        public void french() {
+            assertSameAsMessageFormat(Locale.FRENCH);
+        }
+
+        @Test
+        public void german() {
+            assertSameAsMessageFormat(Locale.GERMAN);
+        }
+
+        @Test
+        public void minusSign() {
+            for (var tag : new String[]{"sv", "fi", "nb", "sv-SE", "nb-NO"}) {
+                assertSameAsMessageFormat(Locale.forLanguageTag(tag));
+            }
+        }
+
+        @Test
+        public void nativeDigits() {
+            for (var tag : new String[]{"ar-EG", "fa", "fa-IR", "hi-IN-u-nu-deva", "th-TH-u-nu-thai", "mr"}) {
+                assertSameAsMessageFormat(Locale.forLanguageTag(tag));
+            }
+        }
+
+        @Test
+        public void allLocales() {
+            for (var locale : Locale.getAvailableLocales()) {
+                assertSameAsMessageFormat(locale);
+            }
+        }
+
+        @Test
+        public void date() {
+            var date = new Date(1_700_000_000_000L);
+            for (var locale : new Locale[]{Locale.ENGLISH, Locale.FRENCH, Locale.forLanguageTag("fa")}) {
+                var template = MessageTemplate.compile("Saved {0}", locale);
+                assertEquals(new MessageFormat("Saved {0}", locale).format(new Object[]{date}), template.format(date));
+                assertEquals(template.format(date), template.format(date));
+            }
+        }
+
+        @Test
+        public void missingArgument() {
+            assertEquals(new MessageFormat("{0} and {1}", Locale.ENGLISH).format(new Object[]{"a"}),
+                    MessageTemplate.compile("{0} and {1}", Locale.ENGLISH).format("a"));
+        }
+    }
+
+    @Nested
+    public class AppendTo {
+
+        @Test
+        public void longMatchesBoxed() {
+            for (var pattern : PATTERNS) {
+                var template = MessageTemplate.compile(pattern, Locale.FRENCH);
+                for (var value : new long[]{0, 1, 2, 1234567, -5, -1234567, Long.MIN_VALUE, Long.MAX_VALUE}) {
+                    assertEquals(template.format(value), template.appendTo(new StringBuilder(), value).toString(), pattern);
+                }
+            }
+        }
+
+        @Test
+        public void longMatchesMessageFormat() {
+            for (var tag : new String[]{"sv", "ar-EG", "fa"}) {
+                var locale = Locale.forLanguageTag(tag);
+                var template = MessageTemplate.compile("{0} units", locale);
+                for (var value : new long[]{-1234567, 0, 42, 1234567}) {
+                    assertEquals(new MessageFormat("{0} units", locale).format(new Object[]{value}), template.appendTo(new StringBuilder(), value).toString());
+                }
+            }
+        }
+
+        @Test
+        public void appendsToExistingContent() {
+            var template = MessageTemplate.compile("{0} units", Locale.ENGLISH);
+            assertEquals("total: 3 units", template.appendTo(new StringBuilder("total: "), 3).toString());
+        }
+    }
+
+    @Nested
+    public class Literal {
+
+        @Test
+        public void notParsed() {
+            assertEquals("{0} it's", MessageTemplate.literal("{0} it's").format(1));
+        }
+    }
+
+    @Nested
+    public class Compile {
+
+        @Test
+        public void unclosedElement() {
+            assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("{0", Locale.ENGLISH));
+        }
+
+        @Test
+        public void unsupportedElement() {
+            assertThrows(IllegalArgumentException.class, () -> MessageTemplate.compile("{0,date}", Locale.ENGLISH));
+        }
+    }
+}
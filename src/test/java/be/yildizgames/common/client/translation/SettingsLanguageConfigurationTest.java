@@ -0,0 +1,83 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import be.yildizgames.common.client.storage.SettingsStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class SettingsLanguageConfigurationTest {
+
+    private static SettingsLanguageConfiguration configuration(SettingsStore settings) {
+        return new SettingsLanguageConfiguration(settings, List.of(Locale.ENGLISH, Locale.FRENCH), Locale.ENGLISH);
+    }
+
+    @Nested
+    public class Locales {
+
+        @Test
+        public void fromSettings(@TempDir Path folder) throws IOException {
+            try (var settings = SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1))) {
+                settings.set(SettingsLanguageConfiguration.KEY, "fr");
+                assertEquals(Locale.FRENCH, configuration(settings).getLocale());
+            }
+        }
+
+        @Test
+        public void unsupported(@TempDir Path folder) throws IOException {
+            try (var settings = SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1))) {
+                var configuration = configuration(settings);
+                configuration.setLocale(Locale.GERMAN);
+                assertEquals(Locale.ENGLISH, configuration.getLocale());
+            }
+        }
+    }
+
+    @Nested
+    public class Listeners {
+
+        @Test
+        public void addAndRemove(@TempDir Path folder) throws IOException {
+            try (var settings = SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1))) {
+                var configuration = configuration(settings);
+                var received = new ArrayList<Locale>();
+                Consumer<Locale> listener = received::add;
+                configuration.addLocaleListener(listener);
+                configuration.addLocaleListener(listener);
+                configuration.setLocale(Locale.FRENCH);
+                settings.set("volume", "5");
+                configuration.removeLocaleListener(listener);
+                configuration.setLocale(Locale.ENGLISH);
+                assertEquals(List.of(Locale.FRENCH), received);
+                assertEquals(Locale.ENGLISH, configuration.getLocale());
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.translation;
+
+import be.yildizgames.common.client.storage.SettingsStore;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class TranslationDispatcherTest {
+
+    private static SettingsLanguageConfiguration configuration(Path folder) throws IOException {
+        return new SettingsLanguageConfiguration(SettingsStore.open(folder.resolve("settings.properties"), Duration.ofHours(1)),
+                List.of(Locale.ENGLISH, Locale.FRENCH), Locale.ENGLISH);
+    }
+
+    /**
+     * Executor keeping the tasks until they are run by the test.
+     */
+    private static final class QueuedExecutor implements Executor {
+
+        private final List<Runnable> tasks = new ArrayList<>();
+
+        @Override
+        public void execute(Runnable command) {
+            this.tasks.add(command);
+        }
+
+        private void runAll() {
+            while (!this.tasks.isEmpty()) {
+                this.tasks.remove(0).run();
+            }
+        }
+    }
+
+    @Nested
+    public class LocaleChange {
+
+        @Test
+        public void elementsUpdated(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new Messages(configuration);
+            var dispatcher = new TranslationDispatcher(Runnable::run, Runnable::run, Duration.ofMillis(8), translation::refreshLocale);
+            var hello = new Label(translation, "hello");
+            var quit = new Label(translation, "quit");
+            dispatcher.register(hello);
+            dispatcher.register(quit);
+            dispatcher.translateAll().join();
+            assertEquals("Hello", hello.text);
+            configuration.setLocale(Locale.FRENCH);
+            dispatcher.translateAll().join();
+            assertEquals("Bonjour", hello.text);
+            assertEquals("Quitter", quit.text);
+        }
+
+        @Test
+        public void newerChangeSupersedesOlder(@TempDir Path folder) throws IOException {
+            var configuration = configuration(folder);
+            var translation = new Messages(configuration);
+            var background = new QueuedExecutor();
+            var ui = new QueuedExecutor();
+            var dispatcher = new TranslationDispatcher(background, ui, Duration.ofMillis(8), translation::refreshLocale);
+            var hello = new Label(translation, "hello");
+            dispatcher.register(hello);
+            configuration.setLocale(Locale.FRENCH);
+            var older = dispatcher.translateAll();
+            configuration.setLocale(Locale.ENGLISH);
+            var newer = dispatcher.translateAll();
+            background.runAll();
+            ui.runAll();
+            assertTrue(older.isCancelled());
+            newer.join();
+            assertEquals("Hello", hello.text);
+            assertEquals(1, hello.applied);
+        }
+
+        @Test
+        public void olderBatchCancelled(@TempDir Path folder) throws IOException {
+            var translation = new Messages(configuration(folder));
+            var ui = new QueuedExecutor();
+            var dispatcher = new TranslationDispatcher(Runnable::run, ui, Duration.ofMillis(8), translation::refreshLocale);
+            var hello = new Label(translation, "hello");
+            dispatcher.register(hello);
+            var older = dispatcher.translateAll();
+            var newer = dispatcher.translateAll();
+            ui.runAll();
+            assertTrue(older.isCancelled());
+            newer.join();
+            assertEquals(1, hello.applied);
+        }
+
+        @Test
+        public void slicedBatches(@TempDir Path folder) throws IOException {
+            var translation = new Messages(configuration(folder));
+            var ui = new QueuedExecutor();
+            var dispatcher = new TranslationDispatcher(Runnable::run, ui, Duration.ZERO);
+            var labels = new ArrayList<Label>();
+            for (var i = 0; i < 5; i++) {
+                labels.add(new Label(translation, "hello"));
+                dispatcher.register(labels.get(i));
+            }
+            var result = dispatcher.translateAll();
+            var batches = 0;
+            while (!ui.tasks.isEmpty()) {
+                ui.tasks.remove(0).run();
+                batches++;
+            }
+            result.join();
+            assertEquals(5, batches);
+            labels.forEach(l -> assertEquals("Hello", l.text));
+        }
+    }
+
+    @Nested
+    public class Failure {
+
+        @Test
+        public void elementException(@TempDir Path folder) throws IOException {
+            var translation = new Messages(configuration(folder));
+            var dispatcher = new TranslationDispatcher(Runnable::run, Runnable::run, Duration.ofMillis(8));
+            var hello = new Label(translation, "hello");
+            TranslatableElement failing = () -> {
+                throw new IllegalStateException("failure");
+            };
+            dispatcher.register(failing);
+            dispatcher.register(hello);
+            dispatcher.translateAll().join();
+            assertEquals("Hello", hello.text);
+        }
+
+        @Test
+        public void errorInPreparation() {
+            var dispatcher = new TranslationDispatcher(Runnable::run, Runnable::run, Duration.ofMillis(8));
+            TranslatableElement failing = new TranslatableElement() {
+                @Override
+                public void translate() {
+                    // Nothing to translate.
+                }
+
+                @Override
+                public Runnable prepareTranslation() {
+                    throw new StackOverflowError();
+                }
+            };
+            dispatcher.register(failing);
+            var e = assertThrows(CompletionException.class, () -> dispatcher.translateAll().join());
+            assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+
+        @Test
+        public void errorInApplication() {
+            var dispatcher = new TranslationDispatcher(Runnable::run, Runnable::run, Duration.ofMillis(8));
+            TranslatableElement failing = () -> {
+                throw new StackOverflowError();
+            };
+            dispatcher.register(failing);
+            var e = assertThrows(CompletionException.class, () -> dispatcher.translateAll().join());
+            assertTrue(e.getCause() instanceof StackOverflowError);
+        }
+
+        @Test
+        public void rejected() {
+            var dispatcher = new TranslationDispatcher(r -> {
+                throw new RejectedExecutionException();
+            }, Runnable::run, Duration.ofMillis(8));
+            var e = assertThrows(CompletionException.class, () -> dispatcher.translateAll().join());
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    /**
+     * Element resolving its value with a key handle outside of the UI thread.
+     */
+    private static final class Label implements TranslatableElement {
+
+        private final Translation translation;
+
+        private final TranslationKey key;
+
+        private String text;
+
+        private int applied;
+
+        private Label(Translation translation, String key) {
+            super();
+            this.translation = translation;
+            this.key = translation.key(key);
+        }
+
+        @Override
+        public void translate() {
+            this.prepareTranslation().run();
+        }
+
+        @Override
+        public Runnable prepareTranslation() {
+            var value = this.translation.get(this.key);
+            return () -> {
+                this.text = value;
+                this.applied++;
+            };
+        }
+    }
+
+    private static final class Messages extends BaseTranslation {
+
+        private Messages(SettingsLanguageConfiguration configuration) {
+            super(configuration, BaseTranslationTest.Messages.class, TranslationLoading.LAZY, Runnable::run);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class FileHasherTest {
+
+    private static byte[] content(int size) {
+        var data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    private static byte[] digest(byte[] data, int from, int to) throws NoSuchAlgorithmException {
+        var digest = MessageDigest.getInstance("SHA-256");
+        digest.update(data, from, to - from);
+        return digest.digest();
+    }
+
+    private static String hex(byte[] data) {
+        return HexFormat.of().withUpperCase().formatHex(data);
+    }
+
+    @Nested
+    public class Hash {
+
+        @Test
+        public void sameAsDigest(@TempDir Path folder) throws Exception {
+            for (var size : new int[]{0, 1, 1000, (1 << 20) + 17}) {
+                var data = content(size);
+                var file = Files.write(folder.resolve("file" + size), data);
+                assertEquals(hex(digest(data, 0, size)), FileHasher.sha256().hash(file));
+            }
+        }
+
+        @Test
+        public void chunkedSmallFileSameAsSequential(@TempDir Path folder) throws IOException {
+            var file = Files.write(folder.resolve("file"), content(1000));
+            var executor = Executors.newFixedThreadPool(2);
+            try {
+                assertEquals(FileHasher.sha256().hash(file), FileHasher.sha256().chunked(1000, executor).hash(file));
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        public void chunkedLargeFileHashesTheChunkHashes(@TempDir Path folder) throws Exception {
+            var data = content(2500);
+            var file = Files.write(folder.resolve("file"), data);
+            var chunks = MessageDigest.getInstance("SHA-256");
+            chunks.update(digest(data, 0, 1000));
+            chunks.update(digest(data, 1000, 2000));
+            chunks.update(digest(data, 2000, 2500));
+            var executor = Executors.newFixedThreadPool(2);
+            try {
+                var chunked = FileHasher.sha256().chunked(1000, executor);
+                assertEquals(hex(chunks.digest()), chunked.hash(file));
+                assertEquals("SHA-256/1000", chunked.getId());
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        public void unsupportedAlgorithm() {
+            assertThrows(IllegalArgumentException.class, () -> FileHasher.of("unknown"));
+        }
+    }
+
+    @Nested
+    public class Blocks {
+
+        @Test
+        public void hashOfEachBlock(@TempDir Path folder) throws Exception {
+            var data = content(2500);
+            var file = Files.write(folder.resolve("file"), data);
+            var expected = Arrays.asList(hex(digest(data, 0, 1000)), hex(digest(data, 1000, 2000)), hex(digest(data, 2000, 2500)));
+            assertEquals(expected, FileHasher.sha256().hashBlocks(file, 1000));
+        }
+
+        @Test
+        public void emptyFile(@TempDir Path folder) throws IOException {
+            var file = Files.write(folder.resolve("file"), new byte[0]);
+            assertTrue(FileHasher.sha256().hashBlocks(file, 1000).isEmpty());
+        }
+
+        @Test
+        public void singleReadSameAsSeparateHashes(@TempDir Path folder) throws IOException {
+            var file = Files.write(folder.resolve("file"), content(5000));
+            var executor = Executors.newFixedThreadPool(2);
+            try {
+                for (var hasher : new FileHasher[]{FileHasher.sha256(), FileHasher.sha256().chunked(1500, executor)}) {
+                    var blocks = new ArrayList<String>();
+                    assertEquals(hasher.hash(file), hasher.hash(file, 1000, blocks));
+                    assertEquals(hasher.hashBlocks(file, 1000), blocks);
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    @Nested
+    public class Cache {
+
+        @Test
+        public void unchangedFileNotHashedAgain(@TempDir Path folder) throws IOException {
+            var file = Files.writeString(folder.resolve("file"), "first");
+            var cacheFile = folder.resolve("cache.properties");
+            var hash = FileHasher.sha256().cached(cacheFile).hash(file);
+            var modified = Files.getLastModifiedTime(file);
+            // Same size and modification time: the cached hash is returned, even if it is not the content hash anymore.
+            Files.writeString(file, "other");
+            Files.setLastModifiedTime(file, modified);
+            assertEquals(hash, FileHasher.sha256().cached(cacheFile).hash(file));
+            assertNotEquals(hash, FileHasher.sha256().hash(file));
+        }
+
+        @Test
+        public void invalidatedBySize(@TempDir Path folder) throws IOException {
+            var file = Files.writeString(folder.resolve("file"), "first");
+            var hasher = FileHasher.sha256().cached(folder.resolve("cache.properties"));
+            var hash = hasher.hash(file);
+            var modified = Files.getLastModifiedTime(file);
+            Files.writeString(file, "longer");
+            Files.setLastModifiedTime(file, modified);
+            assertNotEquals(hash, hasher.hash(file));
+            assertEquals(FileHasher.sha256().hash(file), hasher.hash(file));
+        }
+
+        @Test
+        public void invalidatedByModificationTime(@TempDir Path folder) throws IOException {
+            var file = Files.writeString(folder.resolve("file"), "first");
+            var hasher = FileHasher.sha256().cached(folder.resolve("cache.properties"));
+            var hash = hasher.hash(file);
+            var modified = Files.getLastModifiedTime(file);
+            Files.writeString(file, "other");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(modified.toMillis() + 2000));
+            assertNotEquals(hash, hasher.hash(file));
+            assertEquals(FileHasher.sha256().hash(file), hasher.hash(file));
+        }
+
+        @Test
+        public void separatedByHashingScheme(@TempDir Path folder) throws IOException {
+            var file = Files.writeString(folder.resolve("file"), "content");
+            var cacheFile = folder.resolve("cache.properties");
+            FileHasher.sha256().cached(cacheFile).hash(file);
+            assertEquals(FileHasher.sha1().hash(file), FileHasher.sha1().cached(cacheFile).hash(file));
+        }
+
+        @Test
+        public void invalidCacheFileIgnored(@TempDir Path folder) throws IOException {
+            var file = Files.writeString(folder.resolve("file"), "content");
+            var cacheFile = Files.writeString(folder.resolve("cache.properties"), "\\uZZZZ");
+            assertEquals(FileHasher.sha256().hash(file), FileHasher.sha256().cached(cacheFile).hash(file));
+        }
+    }
+}
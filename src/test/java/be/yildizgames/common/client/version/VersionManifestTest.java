@@ -0,0 +1,190 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *  Copyright (c) 2024 Grégory Van den Borre
+ *  More infos available: https://engine.yildiz-games.be
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without limitation
+ *  the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies of the Software, and to
+ *  permit persons to whom the Software is furnished to do so, subject to the following conditions: The above copyright
+ *  notice and this permission notice shall be included in all copies or substantial portions of the  Software.
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR
+ *  OTHERWISE, ARISING FROM, OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package be.yildizgames.common.client.version;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+public final class VersionManifestTest {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private static Path write(Path root, String path, String content) throws IOException {
+        var file = root.resolve(path);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+
+    @Nested
+    public class Create {
+
+        @Test
+        public void entries(@TempDir Path root) throws IOException {
+            write(root, "app.jar", "application");
+            write(root, "lib/data.bin", "0123456789abcdef0123456789abcdef01");
+            var manifest = VersionManifest.create(root, FileHasher.sha256(), null, BLOCK_SIZE);
+            assertEquals(2, manifest.getEntries().size());
+            var jar = manifest.getEntry("app.jar").orElseThrow();
+            assertEquals(11, jar.getSize());
+            assertEquals(FileHasher.sha256().hash(root.resolve("app.jar")), jar.getHash());
+            assertTrue(jar.getBlocks().isEmpty());
+            var data = manifest.getEntry("lib/data.bin").orElseThrow();
+            assertEquals(FileHasher.sha256().hash(root.resolve("lib/data.bin")), data.getHash());
+            assertEquals(FileHasher.sha256().hashBlocks(root.resolve("lib/data.bin"), BLOCK_SIZE), data.getBlocks());
+            assertEquals(3, data.getBlocks().size());
+        }
+
+        @Test
+        public void separatorInFileName(@TempDir Path root) throws IOException {
+            for (var name : new String[]{"tab\tname.txt", "line\nbreak.txt", "carriage\rreturn.txt"}) {
+                var installation = root.resolve(Integer.toString(name.hashCode()));
+                write(installation, "valid.txt", "valid");
+                write(installation, "lib/" + name, "content");
+                assertThrows(IOException.class, () -> VersionManifest.create(installation, FileHasher.sha256()));
+            }
+        }
+
+        @Test
+        public void spaceInFileName(@TempDir Path root) throws IOException {
+            write(root, "my file (1).txt", "content");
+            var manifest = VersionManifest.create(root, FileHasher.sha256());
+            var file = root.resolve("manifest.txt");
+            manifest.save(file);
+            assertTrue(VersionManifest.load(file).getEntry("my file (1).txt").isPresent());
+        }
+
+        @Test
+        public void negativeBlockSize(@TempDir Path root) {
+            assertThrows(IllegalArgumentException.class, () -> VersionManifest.create(root, FileHasher.sha256(), null, -1));
+        }
+    }
+
+    @Nested
+    public class CompareTo {
+
+        @Test
+        public void sameContent(@TempDir Path root) throws IOException {
+            write(root, "app.jar", "application");
+            var manifest = VersionManifest.create(root, FileHasher.sha256());
+            var diff = manifest.compareTo(VersionManifest.create(root, FileHasher.sha256()));
+            assertTrue(diff.isUpToDate());
+            assertTrue(diff.getChanged().isEmpty());
+            assertTrue(diff.getRemoved().isEmpty());
+        }
+
+        @Test
+        public void changedRemovedAndAdded(@TempDir Path root) throws IOException {
+            var local = root.resolve("local");
+            var remote = root.resolve("remote");
+            write(local, "same.txt", "same");
+            write(remote, "same.txt", "same");
+            write(local, "changed.txt", "before");
+            write(remote, "changed.txt", "after!");
+            write(local, "removed.txt", "removed");
+            write(remote, "added/file.txt", "added");
+            var diff = VersionManifest.create(local, FileHasher.sha256()).compareTo(VersionManifest.create(remote, FileHasher.sha256()));
+            assertFalse(diff.isUpToDate());
+            assertEquals(Set.of("changed.txt", "added/file.txt"), diff.getChanged());
+            assertEquals(Set.of("removed.txt"), diff.getRemoved());
+            assertTrue(diff.getChangedBlocks("changed.txt").isEmpty());
+        }
+
+        @Test
+        public void changedBlocks(@TempDir Path root) throws IOException {
+            var local = root.resolve("local");
+            var remote = root.resolve("remote");
+            write(local, "data.bin", "0123456789abcdef" + "0123456789abcdef" + "0123456789abcdef");
+            write(remote, "data.bin", "0123456789abcdef" + "0123456789abcdeX" + "0123456789abcdef" + "tail");
+            var diff = VersionManifest.create(local, FileHasher.sha256(), null, BLOCK_SIZE)
+                    .compareTo(VersionManifest.create(remote, FileHasher.sha256(), null, BLOCK_SIZE));
+            assertEquals(Set.of("data.bin"), diff.getChanged());
+            assertEquals(List.of(1, 3), diff.getChangedBlocks("data.bin"));
+        }
+
+        @Test
+        public void differentBlockSize(@TempDir Path root) throws IOException {
+            var local = root.resolve("local");
+            var remote = root.resolve("remote");
+            write(local, "data.bin", "0123456789abcdef" + "0123456789abcdef");
+            write(remote, "data.bin", "0123456789abcdef" + "0123456789abcdeX");
+            var diff = VersionManifest.create(local, FileHasher.sha256(), null, BLOCK_SIZE)
+                    .compareTo(VersionManifest.create(remote, FileHasher.sha256(), null, BLOCK_SIZE / 2));
+            assertEquals(Set.of("data.bin"), diff.getChanged());
+            assertTrue(diff.getChangedBlocks("data.bin").isEmpty());
+        }
+
+        @Test
+        public void differentHasher(@TempDir Path root) throws IOException {
+            write(root, "app.jar", "application");
+            var sha1 = VersionManifest.create(root, FileHasher.sha1());
+            var sha256 = VersionManifest.create(root, FileHasher.sha256());
+            assertThrows(IllegalArgumentException.class, () -> sha1.compareTo(sha256));
+        }
+    }
+
+    @Nested
+    public class SaveAndLoad {
+
+        @Test
+        public void sameManifest(@TempDir Path root) throws IOException {
+            var installation = root.resolve("installation");
+            write(installation, "app.jar", "application");
+            write(installation, "lib/data.bin", "0123456789abcdef0123456789abcdef01");
+            var manifest = VersionManifest.create(installation, FileHasher.sha256(), null, BLOCK_SIZE);
+            var file = root.resolve("manifest.txt");
+            manifest.save(file);
+            var loaded = VersionManifest.load(file);
+            assertEquals(manifest.getHasherId(), loaded.getHasherId());
+            assertEquals(BLOCK_SIZE, loaded.getBlockSize());
+            assertEquals(manifest.getEntries().size(), loaded.getEntries().size());
+            for (var entry : manifest.getEntries()) {
+                var other = loaded.getEntry(entry.getPath()).orElseThrow();
+                assertEquals(entry.getSize(), other.getSize());
+                assertEquals(entry.getModified(), other.getModified());
+                assertEquals(entry.getHash(), other.getHash());
+                assertEquals(entry.getBlocks(), other.getBlocks());
+            }
+            assertTrue(manifest.compareTo(loaded).isUpToDate());
+        }
+
+        @Test
+        public void invalidHeader(@TempDir Path root) throws IOException {
+            var file = Files.writeString(root.resolve("manifest.txt"), "not a manifest\n");
+            assertThrows(IOException.class, () -> VersionManifest.load(file));
+        }
+
+        @Test
+        public void invalidLine(@TempDir Path root) throws IOException {
+            var file = Files.writeString(root.resolve("manifest.txt"), "#manifest\tsha256\t0\napp.jar\tsize\t0\thash\t\n");
+            assertThrows(IOException.class, () -> VersionManifest.load(file));
+        }
+    }
+}